@@ -0,0 +1,77 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Builds the {@link MethodHandle}s stored in {@link ObjectPlan}s.
+ * <p>
+ * Access checks are suppressed once while the handle is created, and every handle is adapted to an erased shape so
+ * call sites can use {@code invokeExact}.
+ */
+final class Accessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CREATOR = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType BUILD = MethodType.methodType(Object.class, Object.class);
+
+    private Accessors() {
+    }
+
+    /** Returns a {@code (Object[])Object} handle calling a constructor or static factory. */
+    static MethodHandle creator(Executable creator) throws IOException {
+        try {
+            creator.setAccessible(true);
+            MethodHandle handle = creator instanceof Constructor<?> constructor
+                    ? LOOKUP.unreflectConstructor(constructor)
+                    : LOOKUP.unreflect((Method) creator);
+            return handle.asFixedArity().asSpreader(Object[].class, creator.getParameterCount()).asType(CREATOR);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IOException("Unable to construct " + creator.getDeclaringClass().getName(), e);
+        }
+    }
+
+    /** Returns a {@code (Object, Object)void} handle calling a single-argument setter. */
+    static MethodHandle setter(Method method) throws IOException {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method).asFixedArity().asType(SETTER);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IOException("Unable to invoke setter " + method.getName(), e);
+        }
+    }
+
+    /** Returns a {@code (Object, Object)void} handle writing an instance field. */
+    static MethodHandle fieldSetter(Field field) throws IOException {
+        try {
+            field.setAccessible(true);
+            return LOOKUP.unreflectSetter(field).asType(SETTER);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IOException("Unable to set field " + field.getName(), e);
+        }
+    }
+
+    /** Returns an {@code (Object)Object} handle calling a no-argument build method. */
+    static MethodHandle build(Method method) throws IOException {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method).asFixedArity().asType(BUILD);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IOException("Unable to invoke build for " + method.getDeclaringClass().getName(), e);
+        }
+    }
+
+    /** Wraps a failure thrown through a handle; errors are rethrown as they are. */
+    static IOException failure(String message, Throwable e) {
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new IOException(message, e);
+    }
+}
@@ -0,0 +1,219 @@
+package jp.akimateras.jackson;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Exact-size immutable {@code List}, {@code Set} and {@code Map} implementations for values that are cached and never
+ * mutated.
+ * <p>
+ * Each structure is one wrapper around one array (two for larger sets and maps) instead of a growable container with
+ * slack capacity and, for hashed containers, one entry object per element. Sets and maps keep insertion order and find
+ * elements by a linear scan up to {@value #LINEAR_SCAN_LIMIT} elements, or through an open-addressing index of
+ * positions above that. Unlike {@code List.of}, {@code null} elements and values are allowed, since JSON arrays and
+ * objects may contain them.
+ */
+final class CompactCollections {
+    static final int LINEAR_SCAN_LIMIT = 8;
+
+    private CompactCollections() {
+    }
+
+    static List<Object> list(Collection<Object> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new CompactList(values.toArray());
+    }
+
+    /** {@code values} must not contain duplicates, as is the case for any {@code Set}. */
+    static Set<Object> set(Collection<Object> values) {
+        if (values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Object[] elements = values.toArray();
+        return new CompactSet(elements, index(elements, elements.length, 1));
+    }
+
+    static Map<Object, Object> map(Map<Object, Object> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Object[] entries = new Object[values.size() * 2];
+        int i = 0;
+        for (Map.Entry<Object, Object> entry : values.entrySet()) {
+            entries[i++] = entry.getKey();
+            entries[i++] = entry.getValue();
+        }
+        return new CompactMap(entries, index(entries, values.size(), 2));
+    }
+
+    /**
+     * Builds the open-addressing index of the {@code size} keys stored every {@code stride} slots of {@code keys}.
+     * Each index slot holds the key position plus one, so {@code 0} marks an empty slot.
+     */
+    private static int @Nullable [] index(@Nullable Object[] keys, int size, int stride) {
+        if (size <= LINEAR_SCAN_LIMIT) {
+            return null;
+        }
+        int[] index = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+        int mask = index.length - 1;
+        for (int position = 0; position < size; position++) {
+            int slot = hash(keys[position * stride]) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = position + 1;
+        }
+        return index;
+    }
+
+    /** Returns the position of {@code key}, or {@code -1} if it is absent. */
+    private static int find(@Nullable Object key, @Nullable Object[] keys, int size, int stride,
+            int @Nullable [] index) {
+        if (index == null) {
+            for (int position = 0; position < size; position++) {
+                if (Objects.equals(key, keys[position * stride])) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        int slot = hash(key) & mask;
+        int entry;
+        while ((entry = index[slot]) != 0) {
+            if (Objects.equals(key, keys[(entry - 1) * stride])) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(@Nullable Object key) {
+        int hash = Objects.hashCode(key);
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class CompactList extends AbstractList<Object> implements RandomAccess {
+        private final @Nullable Object[] elements;
+
+        CompactList(@Nullable Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public @Nullable Object get(int index) {
+            return elements[Objects.checkIndex(index, elements.length)];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+    }
+
+    private static final class CompactSet extends AbstractSet<Object> {
+        private final @Nullable Object[] elements;
+        private final int @Nullable [] index;
+
+        CompactSet(@Nullable Object[] elements, int @Nullable [] index) {
+            this.elements = elements;
+            this.index = index;
+        }
+
+        @Override
+        public boolean contains(@Nullable Object o) {
+            return find(o, elements, elements.length, 1, index) >= 0;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(elements)).iterator();
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+
+    private static final class CompactMap extends AbstractMap<Object, Object> {
+        /** Keys at even and values at odd positions, in insertion order. */
+        private final @Nullable Object[] entries;
+        private final int @Nullable [] index;
+
+        CompactMap(@Nullable Object[] entries, int @Nullable [] index) {
+            this.entries = entries;
+            this.index = index;
+        }
+
+        @Override
+        public @Nullable Object get(@Nullable Object key) {
+            int position = find(key, entries, size(), 2, index);
+            return position < 0 ? null : entries[position * 2 + 1];
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return find(key, entries, size(), 2, index) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return entries.length / 2;
+        }
+
+        @Override
+        public Set<Map.Entry<Object, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<Object, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < entries.length;
+                        }
+
+                        @Override
+                        public Map.Entry<Object, Object> next() {
+                            if (next >= entries.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Map.Entry<Object, Object> entry = new AbstractMap.SimpleImmutableEntry<>(entries[next],
+                                    entries[next + 1]);
+                            next += 2;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return CompactMap.this.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.LRUMap;
+
+import jp.akimateras.jackson.KeyConverters.KeyConverter;
+
+/**
+ * Container and map-key materialization shared by {@link NodeMapper} and {@link StreamingMapper}.
+ * <p>
+ * The final collection or map is created once, presized from the number of elements when it is known, and filled in
+ * place. How to create it is decided once per target type: standard interfaces map to insertion-ordered or sorted
+ * implementations, {@code EnumSet} and {@code EnumMap} to the enum-keyed ones, and other concrete types to a cached
+ * constructor handle. Types without an accessible no-argument constructor are filled as a list or
+ * {@code LinkedHashMap} and converted by the underlying {@code ObjectMapper}. In compact mode the plain
+ * {@code List}, {@code Collection}, {@code Set} and {@code Map} targets are copied into exact-size immutable
+ * structures once filled. The decisions are kept in bounded LRU caches, like the plans of {@link ObjectPlanner}.
+ */
+final class ContainerFactory {
+    private static final int MAX_KINDS = 2000;
+
+    private final ObjectMapper mapper;
+    private final LRUMap<JavaType, CollectionKind> collectionKinds = new LRUMap<>(16, MAX_KINDS);
+    private final LRUMap<JavaType, MapKind> mapKinds = new LRUMap<>(16, MAX_KINDS);
+    private final LRUMap<JavaType, KeyConverter> keyConverters = new LRUMap<>(16, MAX_KINDS);
+    private volatile boolean compact;
+
+    ContainerFactory(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Switches {@code List}, {@code Collection}, {@code Set} and {@code Map} targets between growable containers and
+     * the exact-size immutable ones of {@link CompactCollections}.
+     */
+    void setCompact(boolean compact) {
+        this.compact = compact;
+        collectionKinds.clear();
+        mapKinds.clear();
+    }
+
+    JavaType keyType(JavaType mapType) {
+        JavaType keyType = mapType.getKeyType();
+        if (keyType == null) {
+            keyType = mapper.getTypeFactory().constructType(String.class);
+        }
+        return keyType;
+    }
+
+    JavaType contentType(JavaType containerType) {
+        JavaType contentType = containerType.getContentType();
+        if (contentType == null) {
+            contentType = mapper.getTypeFactory().constructType(Object.class);
+        }
+        return contentType;
+    }
+
+    Base64Variant base64Variant() {
+        return mapper.getDeserializationConfig().getBase64Variant();
+    }
+
+    /** Returns the cached converter from JSON property names to keys of {@code keyType}. */
+    KeyConverter keyConverter(JavaType keyType) {
+        KeyConverter converter = keyConverters.get(keyType);
+        if (converter == null) {
+            converter = KeyConverters.create(mapper, keyType);
+            keyConverters.put(keyType, converter);
+        }
+        return converter;
+    }
+
+    /**
+     * Creates the map to fill for {@code targetType}; {@code sizeHint} is the expected number of entries, or
+     * {@code 0} if unknown.
+     */
+    Map<Object, Object> newMap(JavaType targetType, int sizeHint) throws IOException {
+        return mapKind(targetType).creator().create(sizeHint);
+    }
+
+    Object finishMap(Map<Object, Object> values, JavaType targetType) throws IOException {
+        Finish finish = mapKind(targetType).finish();
+        if (finish == Finish.AS_IS) {
+            return values;
+        }
+        if (finish == Finish.COMPACT) {
+            return CompactCollections.map(values);
+        }
+        Object converted = mapper.convertValue(values, targetType);
+        if (converted == null) {
+            throw new IOException("Unable to construct map for " + targetType.getRawClass().getName());
+        }
+        return converted;
+    }
+
+    /**
+     * Creates the collection to fill for {@code targetType}; {@code sizeHint} is the expected number of elements, or
+     * {@code 0} if unknown.
+     */
+    Collection<Object> newCollection(JavaType targetType, int sizeHint) throws IOException {
+        return collectionKind(targetType).creator().create(sizeHint);
+    }
+
+    Object finishCollection(Collection<Object> values, JavaType targetType) {
+        return switch (collectionKind(targetType).finish()) {
+            case AS_IS -> values;
+            case COMPACT -> values instanceof Set<?> ? CompactCollections.set(values) : CompactCollections.list(values);
+            case CONVERT -> mapper.convertValue(values, targetType);
+        };
+    }
+
+    /** Copies already decoded elements into the collection for {@code targetType}. */
+    Object toCollection(List<Object> values, JavaType targetType) throws IOException {
+        Collection<Object> collection = newCollection(targetType, values.size());
+        for (Object value : values) {
+            add(collection, value, targetType);
+        }
+        return finishCollection(collection, targetType);
+    }
+
+    /**
+     * Adds an element to a collection created for {@code targetType}. Collections that reject {@code null}, such as
+     * {@code ArrayDeque} or {@code TreeSet}, fail with an {@link IOException} naming the target type.
+     */
+    static void add(Collection<Object> values, @Nullable Object value, JavaType targetType) throws IOException {
+        try {
+            values.add(value);
+        } catch (NullPointerException e) {
+            throw new IOException("Null element not allowed in " + targetType, e);
+        }
+    }
+
+    /**
+     * Puts an entry into a map created for {@code targetType}. Maps that reject {@code null}, such as
+     * {@code ConcurrentHashMap}, fail with an {@link IOException} naming the target type.
+     */
+    static void put(Map<Object, Object> values, Object key, @Nullable Object value, JavaType targetType)
+            throws IOException {
+        try {
+            values.put(key, value);
+        } catch (NullPointerException e) {
+            throw new IOException("Null value not allowed in " + targetType, e);
+        }
+    }
+
+    Object finishArray(List<Object> values, JavaType contentType) {
+        Class<?> componentRaw = contentType.getRawClass();
+        Object array = Array.newInstance(componentRaw, values.size());
+        if (!componentRaw.isPrimitive()) {
+            return values.toArray((Object[]) array);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            Array.set(array, i, values.get(i));
+        }
+        return array;
+    }
+
+    private CollectionKind collectionKind(JavaType targetType) {
+        CollectionKind kind = collectionKinds.get(targetType);
+        if (kind == null) {
+            kind = createCollectionKind(targetType);
+            collectionKinds.put(targetType, kind);
+        }
+        return kind;
+    }
+
+    private MapKind mapKind(JavaType targetType) {
+        MapKind kind = mapKinds.get(targetType);
+        if (kind == null) {
+            kind = createMapKind(targetType);
+            mapKinds.put(targetType, kind);
+        }
+        return kind;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private CollectionKind createCollectionKind(JavaType targetType) {
+        Class<?> raw = targetType.getRawClass();
+        Class<?> content = contentType(targetType).getRawClass();
+        if (raw == EnumSet.class && content.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) content;
+            return new CollectionKind(size -> (Collection<Object>) (Collection<?>) EnumSet.noneOf(enumType),
+                    Finish.AS_IS);
+        }
+        if (raw.isAssignableFrom(ArrayList.class)) {
+            boolean compacted = compact && (raw == List.class || raw == Collection.class);
+            return new CollectionKind(ArrayList::new, compacted ? Finish.COMPACT : Finish.AS_IS);
+        }
+        if (raw.isAssignableFrom(LinkedHashSet.class)) {
+            Finish finish = compact && raw == Set.class ? Finish.COMPACT : Finish.AS_IS;
+            return new CollectionKind(LinkedHashSet::newLinkedHashSet, finish);
+        }
+        if (raw.isAssignableFrom(TreeSet.class) && SortedSet.class.isAssignableFrom(raw)) {
+            return new CollectionKind(size -> new TreeSet<>(), Finish.AS_IS);
+        }
+        // Queue and Deque get a LinkedList, as in Jackson, since it accepts null elements.
+        if (raw.isAssignableFrom(LinkedList.class)) {
+            return new CollectionKind(size -> new LinkedList<>(), Finish.AS_IS);
+        }
+        if (raw == ArrayDeque.class) {
+            return new CollectionKind(size -> new ArrayDeque<>(Math.max(size, 1)), Finish.AS_IS);
+        }
+        if (raw == PriorityQueue.class) {
+            return new CollectionKind(size -> new PriorityQueue<>(Math.max(size, 1)), Finish.AS_IS);
+        }
+        MethodHandle constructor = noArgConstructor(raw);
+        if (constructor != null) {
+            return new CollectionKind(size -> (Collection<Object>) construct(constructor, raw), Finish.AS_IS);
+        }
+        return new CollectionKind(ArrayList::new, Finish.CONVERT);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private MapKind createMapKind(JavaType targetType) {
+        Class<?> raw = targetType.getRawClass();
+        Class<?> key = keyType(targetType).getRawClass();
+        if (raw == EnumMap.class && key.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) key;
+            return new MapKind(size -> (Map<Object, Object>) (Map<?, ?>) new EnumMap(enumType), Finish.AS_IS);
+        }
+        if (raw.isAssignableFrom(LinkedHashMap.class)) {
+            Finish finish = compact && raw == Map.class ? Finish.COMPACT : Finish.AS_IS;
+            return new MapKind(LinkedHashMap::newLinkedHashMap, finish);
+        }
+        if (raw.isAssignableFrom(TreeMap.class) && SortedMap.class.isAssignableFrom(raw)) {
+            return new MapKind(size -> new TreeMap<>(), Finish.AS_IS);
+        }
+        if (raw.isAssignableFrom(ConcurrentHashMap.class) && ConcurrentMap.class.isAssignableFrom(raw)) {
+            return new MapKind(size -> new ConcurrentHashMap<>(Math.max(size, 1)), Finish.AS_IS);
+        }
+        if (raw.isAssignableFrom(ConcurrentSkipListMap.class) && ConcurrentNavigableMap.class.isAssignableFrom(raw)) {
+            return new MapKind(size -> new ConcurrentSkipListMap<>(), Finish.AS_IS);
+        }
+        MethodHandle constructor = noArgConstructor(raw);
+        if (constructor != null) {
+            return new MapKind(size -> (Map<Object, Object>) construct(constructor, raw), Finish.AS_IS);
+        }
+        return new MapKind(LinkedHashMap::newLinkedHashMap, Finish.CONVERT);
+    }
+
+    private static @Nullable MethodHandle noArgConstructor(Class<?> raw) {
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+            return null;
+        }
+        try {
+            return Accessors.creator(raw.getDeclaredConstructor());
+        } catch (NoSuchMethodException | IOException e) {
+            return null;
+        }
+    }
+
+    private static Object construct(MethodHandle constructor, Class<?> raw) throws IOException {
+        try {
+            return (Object) constructor.invokeExact(new Object[0]);
+        } catch (Throwable e) {
+            throw Accessors.failure("Unable to construct " + raw.getName(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Creator<C> {
+        C create(int sizeHint) throws IOException;
+    }
+
+    /** What happens to a filled container before it is returned. */
+    private enum Finish {
+        /** The filled container is the result. */
+        AS_IS,
+        /** The filled container is copied into a {@link CompactCollections} structure. */
+        COMPACT,
+        /** The filled container is converted to the target type by the {@code ObjectMapper}. */
+        CONVERT,
+    }
+
+    private record CollectionKind(Creator<Collection<Object>> creator, Finish finish) {
+    }
+
+    private record MapKind(Creator<Map<Object, Object>> creator, Finish finish) {
+    }
+}
@@ -0,0 +1,102 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * Property-name fingerprints of the subtypes of one {@code JsonTypeInfo.Id.DEDUCTION} level.
+ * <p>
+ * Every property name of any subtype is assigned the set of subtypes that declare it. Deduction starts from all
+ * subtypes and intersects that set with the set of each field seen, so it costs one lookup and one bitmask
+ * {@code and} per field. Fields that no subtype declares are ignored, and deduction stops as soon as one subtype is
+ * left, as Jackson's own deduction does. Like Jackson, an object without fields resolves to the subtype that declares
+ * no properties, if there is one.
+ */
+final class DeductionIndex {
+    private final List<Class<?>> subtypes;
+    private final Map<String, BitSet> declaringSubtypes;
+    private final @Nullable Class<?> emptySubtype;
+
+    private DeductionIndex(List<Class<?>> subtypes, Map<String, BitSet> declaringSubtypes,
+            @Nullable Class<?> emptySubtype) {
+        this.subtypes = subtypes;
+        this.declaringSubtypes = declaringSubtypes;
+        this.emptySubtype = emptySubtype;
+    }
+
+    static DeductionIndex build(ObjectMapper mapper, List<Class<?>> subtypes) {
+        DeserializationConfig config = mapper.getDeserializationConfig();
+        Map<String, BitSet> declaringSubtypes = new HashMap<>();
+        Class<?> emptySubtype = null;
+        for (int i = 0; i < subtypes.size(); i++) {
+            BeanDescription description = config.introspect(mapper.constructType(subtypes.get(i)));
+            boolean empty = true;
+            for (BeanPropertyDefinition property : description.findProperties()) {
+                if (property.couldDeserialize()) {
+                    declaringSubtypes.computeIfAbsent(property.getName(), name -> new BitSet()).set(i);
+                    empty = false;
+                }
+            }
+            if (empty && emptySubtype == null) {
+                emptySubtype = subtypes.get(i);
+            }
+        }
+        return new DeductionIndex(List.copyOf(subtypes), Map.copyOf(declaringSubtypes), emptySubtype);
+    }
+
+    Candidates candidates() {
+        return new Candidates();
+    }
+
+    /** Subtypes still consistent with the fields seen so far. */
+    final class Candidates {
+        private final BitSet remaining = new BitSet(subtypes.size());
+        private boolean seen;
+
+        private Candidates() {
+            remaining.set(0, subtypes.size());
+        }
+
+        /**
+         * Narrows the candidates by one field name.
+         *
+         * @return whether exactly one candidate is left
+         */
+        boolean accept(String name) {
+            seen = true;
+            BitSet declaring = declaringSubtypes.get(name);
+            if (declaring != null) {
+                remaining.and(declaring);
+            }
+            return remaining.cardinality() == 1;
+        }
+
+        /**
+         * Returns the single remaining subtype, the subtype without properties when no field was seen, or
+         * {@code defaultImpl} when none or several are left.
+         */
+        Class<?> resolve(Class<?> baseType, @Nullable Class<?> defaultImpl) throws IOException {
+            if (remaining.cardinality() == 1) {
+                return subtypes.get(remaining.nextSetBit(0));
+            }
+            if (!seen && emptySubtype != null) {
+                return emptySubtype;
+            }
+            if (defaultImpl != null) {
+                return defaultImpl;
+            }
+            throw new IOException("Cannot deduce unique subtype of " + baseType.getName() + " ("
+                    + remaining.cardinality() + " candidates)");
+        }
+    }
+}
@@ -2,11 +2,20 @@ package jp.akimateras.jackson;
 
 import java.io.IOException;
 import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jspecify.annotations.Nullable;
 
@@ -22,6 +31,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 final class DiscriminatorTypeResolver {
     private final ObjectMapper mapper;
+    private final Map<Class<?>, DispatchTable> tables = new ConcurrentHashMap<>();
 
     DiscriminatorTypeResolver(ObjectMapper mapper) {
         this.mapper = mapper;
@@ -35,61 +45,251 @@ final class DiscriminatorTypeResolver {
         return type.getAnnotation(JsonTypeInfo.class) != null;
     }
 
-    ResolvedType resolve(JsonNode node, Class<?> baseType) throws IOException {
+    /**
+     * Whether {@code type} declares a {@code @JsonTypeInfo} this resolver can dispatch on: a type name or deduction
+     * id stored in a property. Other kinds, such as class ids or wrapper inclusion, are left to Jackson.
+     */
+    boolean hasSupportedTypeInfo(Class<?> type) {
+        JsonTypeInfo typeInfo = type.getAnnotation(JsonTypeInfo.class);
+        if (typeInfo == null) {
+            return false;
+        }
+        JsonTypeInfo.Id use = typeInfo.use();
+        if (use == JsonTypeInfo.Id.DEDUCTION) {
+            return true;
+        }
+        JsonTypeInfo.As include = typeInfo.include();
+        return (use == JsonTypeInfo.Id.NAME || use == JsonTypeInfo.Id.SIMPLE_NAME)
+                && (include == JsonTypeInfo.As.PROPERTY || include == JsonTypeInfo.As.EXISTING_PROPERTY);
+    }
+
+    /**
+     * Resolves the concrete type of {@code node}, treating the {@code excluded} properties as absent.
+     */
+    ResolvedType resolve(JsonNode node, Class<?> baseType, Set<String> excluded) throws IOException {
         if ((isAbstractOrInterface(baseType) || hasTypeInfo(baseType)) && !node.isObject()) {
             throw new IOException("Expected object for type " + baseType.getName());
         }
-        Set<String> toRemove = new LinkedHashSet<>();
+        Set<String> toRemove = Set.of();
         Class<?> current = baseType;
         while (needsTypeResolution(current)) {
-            JsonTypeInfo typeInfo = current.getAnnotation(JsonTypeInfo.class);
-            if (typeInfo == null) {
-                if (isAbstractOrInterface(current)) {
-                    throw new IOException("Missing @JsonTypeInfo for " + current.getName());
+            DispatchTable table = dispatchTable(current);
+            DeductionIndex deduction = table.deduction();
+            Class<?> resolved;
+            if (deduction != null) {
+                resolved = deduce(node, current, table, deduction, excluded);
+            } else {
+                String property = table.property();
+                JsonNode typeNode = excluded.contains(property) ? null : node.get(property);
+                String typeId = typeNode == null || typeNode.isNull() ? null : typeNode.asText();
+                resolved = resolveTypeId(current, table, typeId);
+                if (table.strip()) {
+                    toRemove = withDiscriminator(toRemove, property);
                 }
+            }
+            if (resolved == current) {
                 break;
             }
-            if (typeInfo.use() != JsonTypeInfo.Id.NAME && typeInfo.use() != JsonTypeInfo.Id.SIMPLE_NAME) {
-                throw new IOException("Unsupported JsonTypeInfo.Id for " + current.getName() + ": " + typeInfo.use());
+            current = resolved;
+        }
+        return new ResolvedType(current, toRemove);
+    }
+
+    private static Class<?> deduce(JsonNode node, Class<?> baseType, DispatchTable table, DeductionIndex deduction,
+            Set<String> excluded) throws IOException {
+        DeductionIndex.Candidates candidates = deduction.candidates();
+        for (Iterator<String> names = node.fieldNames(); names.hasNext();) {
+            String name = names.next();
+            if (!excluded.contains(name) && candidates.accept(name)) {
+                break;
+            }
+        }
+        return candidates.resolve(baseType, table.defaultImpl());
+    }
+
+    /**
+     * Resolves one discriminator level. A {@code null} type id stands for an absent or JSON {@code null} property.
+     */
+    Class<?> resolveTypeId(Class<?> baseType, DispatchTable table, @Nullable String typeId) throws IOException {
+        Class<?> resolved;
+        if (typeId == null) {
+            resolved = table.defaultImpl();
+            if (resolved == null) {
+                throw new IOException("Missing discriminator property '" + table.property() + "' for "
+                        + baseType.getName());
             }
-            JsonTypeInfo.As include = typeInfo.include();
-            if (include != JsonTypeInfo.As.PROPERTY && include != JsonTypeInfo.As.EXISTING_PROPERTY) {
-                throw new IOException("Unsupported JsonTypeInfo.As for " + current.getName() + ": " + include);
+        } else if (typeId.isEmpty()) {
+            resolved = table.defaultImpl();
+            if (resolved == null) {
+                throw new IOException("Empty discriminator property '" + table.property() + "' for "
+                        + baseType.getName());
             }
-            String property = resolveTypeProperty(typeInfo);
-            JsonNode typeNode = node.get(property);
-            Class<?> resolved;
-            if (typeNode == null || typeNode.isNull()) {
-                resolved = resolveDefaultImpl(typeInfo);
+        } else {
+            resolved = table.subtypes().get(typeId);
+            if (resolved == null) {
+                resolved = table.defaultImpl();
                 if (resolved == null) {
-                    throw new IOException("Missing discriminator property '" + property + "' for " + current.getName());
+                    throw new IOException("Unknown subtype '" + typeId + "' for " + baseType.getName());
                 }
-            } else {
-                String typeName = typeNode.asText();
-                if (typeName.isEmpty()) {
-                    resolved = resolveDefaultImpl(typeInfo);
-                    if (resolved == null) {
-                        throw new IOException("Empty discriminator property '" + property + "' for " + current.getName());
-                    }
-                } else {
-                    resolved = resolveSubType(current, typeName);
-                    if (resolved == null) {
-                        resolved = resolveDefaultImpl(typeInfo);
-                        if (resolved == null) {
-                            throw new IOException("Unknown subtype '" + typeName + "' for " + current.getName());
-                        }
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the cached dispatch table of {@code baseType}, building it on first use.
+     * <p>
+     * Tables are immutable; {@link #invalidate()} must be called when subtypes are registered on the underlying
+     * {@code ObjectMapper} after the first resolution.
+     */
+    /** Whether the dispatch table of {@code baseType} is currently cached. */
+    boolean isCached(Class<?> baseType) {
+        return tables.get(baseType) != null;
+    }
+
+    DispatchTable dispatchTable(Class<?> baseType) throws IOException {
+        DispatchTable cached = tables.get(baseType);
+        if (cached != null) {
+            return cached;
+        }
+        DispatchTable table = buildDispatchTable(baseType);
+        DispatchTable previous = tables.putIfAbsent(baseType, table);
+        return previous != null ? previous : table;
+    }
+
+    void invalidate() {
+        tables.clear();
+    }
+
+    /**
+     * Returns the discriminators that identify {@code concreteType}, outermost level first.
+     * <p>
+     * Every supported {@code @JsonTypeInfo} supertype contributes the id of the next inner level when it is registered
+     * there, otherwise the id of its most specific registered subtype that {@code concreteType} extends; levels without
+     * such a subtype, and levels left to Jackson, are left out.
+     */
+    List<TypeId> typeIdsOf(Class<?> concreteType) throws IOException {
+        List<Class<?>> levels = new ArrayList<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        Set<Class<?>> seen = new HashSet<>();
+        pending.add(concreteType);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.removeFirst();
+            if (!seen.add(current)) {
+                continue;
+            }
+            if (hasSupportedTypeInfo(current)) {
+                levels.add(current);
+            }
+            Class<?> superclass = current.getSuperclass();
+            if (superclass != null && superclass != Object.class) {
+                pending.add(superclass);
+            }
+            pending.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        levels.sort(Comparator.comparingLong(level -> levels.stream()
+                .filter(other -> other != level && other.isAssignableFrom(level)).count()));
+
+        List<TypeId> typeIds = new ArrayList<>(levels.size());
+        Set<String> properties = new HashSet<>();
+        for (int i = 0; i < levels.size(); i++) {
+            DispatchTable table = dispatchTable(levels.get(i));
+            if (table.deduction() != null) {
+                continue;
+            }
+            Class<?> match = i + 1 < levels.size() && table.typeIds().containsKey(levels.get(i + 1))
+                    ? levels.get(i + 1)
+                    : null;
+            if (match == null) {
+                for (Class<?> subtype : table.typeIds().keySet()) {
+                    if (subtype.isAssignableFrom(concreteType)
+                            && (match == null || match.isAssignableFrom(subtype))) {
+                        match = subtype;
                     }
                 }
             }
-            if (include == JsonTypeInfo.As.PROPERTY && !typeInfo.visible()) {
-                toRemove.add(property);
+            if (match != null && properties.add(table.property())) {
+                typeIds.add(new TypeId(table.property(), table.typeIds().get(match)));
             }
-            if (resolved == current) {
-                break;
+        }
+        return List.copyOf(typeIds);
+    }
+
+    private DispatchTable buildDispatchTable(Class<?> baseType) throws IOException {
+        JsonTypeInfo typeInfo = baseType.getAnnotation(JsonTypeInfo.class);
+        if (typeInfo == null) {
+            throw new IOException("Missing @JsonTypeInfo for " + baseType.getName());
+        }
+        JsonTypeInfo.Id use = typeInfo.use();
+        if (use != JsonTypeInfo.Id.NAME && use != JsonTypeInfo.Id.SIMPLE_NAME && use != JsonTypeInfo.Id.DEDUCTION) {
+            throw new IOException("Unsupported JsonTypeInfo.Id for " + baseType.getName() + ": " + use);
+        }
+        JsonTypeInfo.As include = typeInfo.include();
+        if (use == JsonTypeInfo.Id.DEDUCTION) {
+            include = JsonTypeInfo.As.PROPERTY;
+        }
+        if (include != JsonTypeInfo.As.PROPERTY && include != JsonTypeInfo.As.EXISTING_PROPERTY) {
+            throw new IOException("Unsupported JsonTypeInfo.As for " + baseType.getName() + ": " + include);
+        }
+        Map<String, Class<?>> candidates = new LinkedHashMap<>();
+        collectAnnotatedSubTypes(baseType, candidates);
+        collectRegisteredSubTypes(baseType, candidates);
+        collectPermittedSubTypes(baseType, candidates);
+        Map<Class<?>, String> typeIds = new LinkedHashMap<>();
+        candidates.forEach((name, subtype) -> typeIds.putIfAbsent(subtype, name));
+        Set<String> properties = discriminatorProperties(baseType, candidates.values());
+        if (use == JsonTypeInfo.Id.DEDUCTION) {
+            // Only concrete subtypes can be deduced; the base type and abstract levels are listed among the candidates.
+            List<Class<?>> concrete = typeIds.keySet().stream()
+                    .filter(subtype -> subtype != baseType && !isAbstractOrInterface(subtype))
+                    .toList();
+            DeductionIndex deduction = DeductionIndex.build(mapper, concrete);
+            return new DispatchTable("", Map.copyOf(candidates), Map.copyOf(typeIds), resolveDefaultImpl(typeInfo),
+                    false, TypeIdMatcher.of(List.of()), deduction, properties);
+        }
+        boolean strip = include == JsonTypeInfo.As.PROPERTY && !typeInfo.visible();
+        return new DispatchTable(resolveTypeProperty(typeInfo), Map.copyOf(candidates), Map.copyOf(typeIds),
+                resolveDefaultImpl(typeInfo), strip, TypeIdMatcher.of(candidates.keySet()), null, properties);
+    }
+
+    /**
+     * Collects the discriminator properties of {@code baseType} and of every {@code @JsonTypeInfo} level below it,
+     * walking the subtypes without building their tables.
+     */
+    private Set<String> discriminatorProperties(Class<?> baseType, Collection<Class<?>> subtypes) {
+        Set<String> properties = new HashSet<>();
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>(subtypes);
+        pending.addFirst(baseType);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.removeFirst();
+            JsonTypeInfo typeInfo = type.getAnnotation(JsonTypeInfo.class);
+            if (!visited.add(type) || typeInfo == null) {
+                continue;
+            }
+            String property = typeInfo.property().isEmpty() ? typeInfo.use().getDefaultPropertyName()
+                    : typeInfo.property();
+            if (typeInfo.use() != JsonTypeInfo.Id.DEDUCTION && property != null) {
+                properties.add(property);
+            }
+            if (type != baseType) {
+                Map<String, Class<?>> nested = new LinkedHashMap<>();
+                collectAnnotatedSubTypes(type, nested);
+                collectRegisteredSubTypes(type, nested);
+                collectPermittedSubTypes(type, nested);
+                pending.addAll(nested.values());
             }
-            current = resolved;
         }
-        return new ResolvedType(current, toRemove);
+        return Set.copyOf(properties);
+    }
+
+    private static Set<String> withDiscriminator(Set<String> discriminators, String property) {
+        if (discriminators.isEmpty()) {
+            return Set.of(property);
+        }
+        Set<String> merged = new LinkedHashSet<>(discriminators);
+        merged.add(property);
+        return merged;
     }
 
     boolean isAbstractOrInterface(Class<?> type) {
@@ -99,13 +299,22 @@ final class DiscriminatorTypeResolver {
         return type.isInterface() || Modifier.isAbstract(type.getModifiers());
     }
 
+    /**
+     * Returns a view of {@code node} without the {@code toRemove} properties.
+     * <p>
+     * Only the top-level property table is copied; child nodes are shared with the original. This is used where the
+     * node leaves this library (fallback to the {@code ObjectMapper} or a {@code JsonNode} target), while regular
+     * binding skips the discriminators without copying at all.
+     */
     JsonNode stripDiscriminators(JsonNode node, Set<String> toRemove) {
         if (toRemove.isEmpty() || !(node instanceof ObjectNode objectNode)) {
             return node;
         }
-        ObjectNode copy = objectNode.deepCopy();
-        for (String property : toRemove) {
-            copy.remove(property);
+        ObjectNode copy = objectNode.objectNode();
+        for (Map.Entry<String, JsonNode> entry : objectNode.properties()) {
+            if (!toRemove.contains(entry.getKey())) {
+                copy.set(entry.getKey(), entry.getValue());
+            }
         }
         return copy;
     }
@@ -138,13 +347,6 @@ final class DiscriminatorTypeResolver {
         return defaultImpl;
     }
 
-    private @Nullable Class<?> resolveSubType(Class<?> baseType, String name) {
-        Map<String, Class<?>> candidates = new LinkedHashMap<>();
-        collectAnnotatedSubTypes(baseType, candidates);
-        collectRegisteredSubTypes(baseType, candidates);
-        return candidates.get(name);
-    }
-
     private void collectAnnotatedSubTypes(Class<?> baseType, Map<String, Class<?>> candidates) {
         JsonSubTypes subTypes = baseType.getAnnotation(JsonSubTypes.class);
         if (subTypes == null) {
@@ -193,6 +395,28 @@ final class DiscriminatorTypeResolver {
         }
     }
 
+    /**
+     * Adds the permitted subclasses of a sealed base type that are not already candidates, named by
+     * {@code @JsonTypeName} or their simple name. Abstract intermediates without {@code @JsonTypeInfo} are replaced by
+     * their own permitted subclasses, since they cannot be dispatched on by themselves.
+     */
+    private void collectPermittedSubTypes(Class<?> type, Map<String, Class<?>> candidates) {
+        if (!type.isSealed()) {
+            return;
+        }
+        for (Class<?> subtype : type.getPermittedSubclasses()) {
+            if (candidates.containsValue(subtype)) {
+                continue;
+            }
+            if (isAbstractOrInterface(subtype) && !hasTypeInfo(subtype)) {
+                collectPermittedSubTypes(subtype, candidates);
+                continue;
+            }
+            String name = findTypeName(subtype);
+            addCandidate(candidates, name != null ? name : subtype.getSimpleName(), subtype);
+        }
+    }
+
     private void addCandidate(Map<String, Class<?>> candidates, String name, Class<?> subtype) {
         if (name == null || name.isEmpty()) {
             return;
@@ -224,4 +448,26 @@ final class DiscriminatorTypeResolver {
 
     record ResolvedType(Class<?> concreteType, Set<String> discriminatorsToRemove) {
     }
+
+    /** One discriminator property written for a concrete type. */
+    record TypeId(String property, String id) {
+    }
+
+    /**
+     * Immutable subtype dispatch information for one {@code @JsonTypeInfo} level.
+     *
+     * @param property discriminator property name, empty for a deduced level
+     * @param subtypes subtype classes keyed by every accepted type id
+     * @param typeIds the type id written for each subtype, which is the first id it is registered under
+     * @param defaultImpl fallback type used for missing, empty or unknown type ids
+     * @param strip whether the discriminator is hidden from the resolved subtype
+     * @param matcher the keys of {@code subtypes}, matched against parser text without building a {@code String}
+     * @param deduction property fingerprints of the subtypes for {@code JsonTypeInfo.Id.DEDUCTION}, otherwise
+     *        {@code null}
+     * @param properties the discriminator properties of this level and of every level below it
+     */
+    record DispatchTable(String property, Map<String, Class<?>> subtypes, Map<Class<?>, String> typeIds,
+            @Nullable Class<?> defaultImpl, boolean strip, TypeIdMatcher matcher, @Nullable DeductionIndex deduction,
+            Set<String> properties) {
+    }
 }
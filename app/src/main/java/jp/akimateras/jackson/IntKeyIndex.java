@@ -0,0 +1,92 @@
+package jp.akimateras.jackson;
+
+import java.util.Arrays;
+
+/**
+ * Insertion-ordered set of {@code int} keys behind {@link IntObjectMap} and {@link IntFloatMap}.
+ * <p>
+ * Keys are stored densely in insertion order, so the owning map keeps its values in a parallel array indexed by
+ * position. Lookups go through an open-addressing table of positions plus one, kept at most half full.
+ */
+final class IntKeyIndex {
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] keys;
+    private int[] table;
+    private int size;
+
+    IntKeyIndex(int expectedSize) {
+        keys = new int[Math.max(expectedSize, MIN_CAPACITY)];
+        table = new int[tableSize(keys.length)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** The length that parallel value arrays must have. */
+    int capacity() {
+        return keys.length;
+    }
+
+    int key(int position) {
+        return keys[position];
+    }
+
+    /** Returns the position of {@code key}, or {@code -1} if it is absent. */
+    int find(int key) {
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /** Returns the position of {@code key}, appending it first if it is absent. */
+    int add(int key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size] = key;
+        table[slot] = ++size;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    private void rehash() {
+        int[] rehashed = new int[table.length * 2];
+        int mask = rehashed.length - 1;
+        for (int position = 0; position < size; position++) {
+            int slot = hash(keys[position]) & mask;
+            while (rehashed[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = position + 1;
+        }
+        table = rehashed;
+    }
+
+    /** The smallest power of two that keeps a table for {@code capacity} keys at most half full. */
+    static int tableSize(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
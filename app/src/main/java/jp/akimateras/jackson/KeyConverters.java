@@ -0,0 +1,193 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdKeyDeserializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+/**
+ * Map-key converters resolved once per key type.
+ * <p>
+ * Key deserializers registered with the {@code ObjectMapper} take precedence. Otherwise strings, primitive wrappers,
+ * big numbers, {@code UUID} and {@code LocalDate} are parsed directly. Enum keys are
+ * looked up in a table of the names that the {@code ObjectMapper}'s own key deserializer accepts for each constant
+ * (its name, {@code toString()} and serialized name); other names, such as aliases, go to that key deserializer.
+ * Remaining types use the key deserializer found for them, and types without one fall back to
+ * {@code ObjectMapper.convertValue}.
+ */
+final class KeyConverters {
+    private KeyConverters() {
+    }
+
+    @FunctionalInterface
+    interface KeyConverter {
+        Object convert(String key) throws IOException;
+    }
+
+    static KeyConverter create(ObjectMapper mapper, JavaType keyType) {
+        Class<?> raw = keyType.getRawClass();
+        if (raw == String.class || raw == Object.class || raw == CharSequence.class) {
+            return key -> key;
+        }
+        KeyDeserializer found = findKeyDeserializer(mapper, keyType);
+        if (found != null && !isJacksonKeyDeserializer(found)) {
+            return keyDeserializer(mapper, found);
+        }
+        KeyConverter direct = direct(raw);
+        if (direct != null) {
+            return checked(direct, keyType);
+        }
+        if (found == null) {
+            return checked(key -> mapper.convertValue(key, keyType), keyType);
+        }
+        KeyConverter deserializer = keyDeserializer(mapper, found);
+        if (raw.isEnum()) {
+            return enumTable(mapper, raw, deserializer);
+        }
+        return deserializer;
+    }
+
+    /**
+     * Whether {@code deserializer} is one of Jackson's own, whose results the direct parsers reproduce. The string
+     * constructor and factory variants are not marked as standard implementations, so they are matched by class.
+     */
+    private static boolean isJacksonKeyDeserializer(KeyDeserializer deserializer) {
+        return ClassUtil.isJacksonStdImpl(deserializer)
+                || deserializer.getClass().getDeclaringClass() == StdKeyDeserializer.class;
+    }
+
+    private static @Nullable KeyConverter direct(Class<?> raw) {
+        if (raw == Integer.class || raw == int.class) {
+            return Integer::valueOf;
+        }
+        if (raw == Long.class || raw == long.class) {
+            return Long::valueOf;
+        }
+        if (raw == Short.class || raw == short.class) {
+            return Short::valueOf;
+        }
+        if (raw == Byte.class || raw == byte.class) {
+            return Byte::valueOf;
+        }
+        if (raw == Double.class || raw == double.class) {
+            return Double::valueOf;
+        }
+        if (raw == Float.class || raw == float.class) {
+            return Float::valueOf;
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return KeyConverters::parseBoolean;
+        }
+        if (raw == Character.class || raw == char.class) {
+            return KeyConverters::parseCharacter;
+        }
+        if (raw == BigInteger.class) {
+            return BigInteger::new;
+        }
+        if (raw == BigDecimal.class) {
+            return BigDecimal::new;
+        }
+        if (raw == UUID.class) {
+            return UUID::fromString;
+        }
+        if (raw == LocalDate.class) {
+            return LocalDate::parse;
+        }
+        return null;
+    }
+
+    private static Object parseBoolean(String key) {
+        if (key.equals("true")) {
+            return Boolean.TRUE;
+        }
+        if (key.equals("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + key);
+    }
+
+    private static Object parseCharacter(String key) {
+        if (key.length() != 1) {
+            throw new IllegalArgumentException("Not a single character: " + key);
+        }
+        return key.charAt(0);
+    }
+
+    /** Reports parse failures of {@code converter} as {@link IOException}s naming the key and its type. */
+    private static KeyConverter checked(KeyConverter converter, JavaType keyType) {
+        return key -> {
+            try {
+                return converter.convert(key);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IOException("Unable to map key '" + key + "' to " + keyType, e);
+            }
+        };
+    }
+
+    /** Returns the {@code ObjectMapper}'s key deserializer for {@code keyType}, or {@code null} if it has none. */
+    private static @Nullable KeyDeserializer findKeyDeserializer(ObjectMapper mapper, JavaType keyType) {
+        DefaultDeserializationContext base = (DefaultDeserializationContext) mapper.getDeserializationContext();
+        try {
+            return base.createDummyInstance(mapper.getDeserializationConfig()).findKeyDeserializer(keyType, null);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Wraps a key deserializer resolved once; each conversion gets a fresh context, since contexts are not thread-safe.
+     */
+    private static KeyConverter keyDeserializer(ObjectMapper mapper, KeyDeserializer deserializer) {
+        DefaultDeserializationContext base = (DefaultDeserializationContext) mapper.getDeserializationContext();
+        return key -> {
+            DeserializationContext context = base.createDummyInstance(mapper.getDeserializationConfig());
+            return deserializer.deserializeKey(key, context);
+        };
+    }
+
+    private static KeyConverter enumTable(ObjectMapper mapper, Class<?> enumType, KeyConverter deserializer) {
+        Map<String, Object> table = new HashMap<>();
+        for (Object constant : enumType.getEnumConstants()) {
+            Set<String> names = new LinkedHashSet<>();
+            names.add(((Enum<?>) constant).name());
+            names.add(constant.toString());
+            try {
+                if (mapper.convertValue(constant, Object.class) instanceof String serialized) {
+                    names.add(serialized);
+                }
+            } catch (IllegalArgumentException e) {
+                // Only the declared names are used.
+            }
+            for (String name : names) {
+                try {
+                    if (!table.containsKey(name) && deserializer.convert(name) == constant) {
+                        table.put(name, constant);
+                    }
+                } catch (IOException e) {
+                    // Not accepted by the key deserializer.
+                }
+            }
+        }
+        Map<String, Object> names = Map.copyOf(table);
+        return key -> {
+            Object constant = names.get(key);
+            return constant != null ? constant : deserializer.convert(key);
+        };
+    }
+}
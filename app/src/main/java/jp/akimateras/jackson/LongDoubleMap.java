@@ -0,0 +1,129 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * Map from {@code long} keys to {@code double} values that boxes neither.
+ * <p>
+ * {@link MultiDiscriminatorObjectMapper} binds JSON objects with integer property names to this type directly, and it
+ * is written back as such an object. Entries keep insertion order; keys and values live in two parallel arrays indexed
+ * through an open-addressing table. Instances are not thread-safe.
+ */
+public final class LongDoubleMap implements JsonSerializable {
+    private final LongKeyIndex keys;
+    private double[] values;
+
+    public LongDoubleMap() {
+        this(0);
+    }
+
+    public LongDoubleMap(int expectedSize) {
+        keys = new LongKeyIndex(expectedSize);
+        values = new double[keys.capacity()];
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public boolean isEmpty() {
+        return keys.size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return keys.find(key) >= 0;
+    }
+
+    public double getOrDefault(long key, double defaultValue) {
+        int position = keys.find(key);
+        return position >= 0 ? values[position] : defaultValue;
+    }
+
+    public void put(long key, double value) {
+        int position = keys.add(key);
+        if (values.length < keys.capacity()) {
+            values = Arrays.copyOf(values, keys.capacity());
+        }
+        values[position] = value;
+    }
+
+    /** Calls {@code action} for each entry in insertion order. */
+    public void forEach(EntryConsumer action) {
+        for (int position = 0; position < keys.size(); position++) {
+            action.accept(keys.key(position), values[position]);
+        }
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject(this, keys.size());
+        writeEntries(gen);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(this, JsonToken.START_OBJECT));
+        writeEntries(gen);
+        typeSer.writeTypeSuffix(gen, typeId);
+    }
+
+    private void writeEntries(JsonGenerator gen) throws IOException {
+        for (int position = 0; position < keys.size(); position++) {
+            gen.writeFieldId(keys.key(position));
+            gen.writeNumber(values[position]);
+        }
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (!(obj instanceof LongDoubleMap other) || other.size() != size()) {
+            return false;
+        }
+        for (int position = 0; position < keys.size(); position++) {
+            int found = other.keys.find(keys.key(position));
+            if (found < 0 || Double.compare(values[position], other.values[found]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Computed like {@code Map.hashCode()} over the boxed entries. */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int position = 0; position < keys.size(); position++) {
+            hash += Long.hashCode(keys.key(position)) ^ Double.hashCode(values[position]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int position = 0; position < keys.size(); position++) {
+            if (position > 0) {
+                builder.append(", ");
+            }
+            builder.append(keys.key(position)).append('=').append(values[position]);
+        }
+        return builder.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, double value);
+    }
+}
@@ -0,0 +1,139 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * Map from {@code long} keys to object values that does not box its keys.
+ * <p>
+ * {@link MultiDiscriminatorObjectMapper} binds JSON objects with integer property names to this type directly, with
+ * values bound as {@code V}, and it is written back as such an object. Entries keep insertion order; keys and values
+ * live in two parallel arrays indexed through an open-addressing table. Values may be {@code null}. Instances are not
+ * thread-safe.
+ *
+ * @param <V> the value type
+ */
+public final class LongObjectMap<V> implements JsonSerializable {
+    private final LongKeyIndex keys;
+    private @Nullable Object[] values;
+
+    public LongObjectMap() {
+        this(0);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        keys = new LongKeyIndex(expectedSize);
+        values = new Object[keys.capacity()];
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public boolean isEmpty() {
+        return keys.size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return keys.find(key) >= 0;
+    }
+
+    /** Returns the value for {@code key}, or {@code null} if there is none. */
+    public @Nullable V get(long key) {
+        int position = keys.find(key);
+        return position >= 0 ? value(position) : null;
+    }
+
+    public void put(long key, @Nullable V value) {
+        int position = keys.add(key);
+        if (values.length < keys.capacity()) {
+            values = Arrays.copyOf(values, keys.capacity());
+        }
+        values[position] = value;
+    }
+
+    /** Calls {@code action} for each entry in insertion order. */
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int position = 0; position < keys.size(); position++) {
+            action.accept(keys.key(position), value(position));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable V value(int position) {
+        return (V) values[position];
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject(this, keys.size());
+        writeEntries(gen, serializers);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(this, JsonToken.START_OBJECT));
+        writeEntries(gen, serializers);
+        typeSer.writeTypeSuffix(gen, typeId);
+    }
+
+    private void writeEntries(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        for (int position = 0; position < keys.size(); position++) {
+            gen.writeFieldId(keys.key(position));
+            serializers.defaultSerializeValue(values[position], gen);
+        }
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (!(obj instanceof LongObjectMap<?> other) || other.size() != size()) {
+            return false;
+        }
+        for (int position = 0; position < keys.size(); position++) {
+            int found = other.keys.find(keys.key(position));
+            if (found < 0 || !Objects.equals(values[position], other.values[found])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Computed like {@code Map.hashCode()} over the boxed entries. */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int position = 0; position < keys.size(); position++) {
+            hash += Long.hashCode(keys.key(position)) ^ Objects.hashCode(values[position]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int position = 0; position < keys.size(); position++) {
+            if (position > 0) {
+                builder.append(", ");
+            }
+            builder.append(keys.key(position)).append('=').append(values[position]);
+        }
+        return builder.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, @Nullable V value);
+    }
+}
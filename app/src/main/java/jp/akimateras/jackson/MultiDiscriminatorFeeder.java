@@ -0,0 +1,154 @@
+package jp.akimateras.jackson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Incremental decoder fed with chunks of UTF-8 input, created by
+ * {@link MultiDiscriminatorObjectMapper#feederFor(Class)}.
+ * <p>
+ * Input is tokenized with Jackson's non-blocking parser, so {@link #feed(byte[], int, int)} never waits for more data:
+ * it returns the values completed by the chunk and keeps any partial value for the next call. The input is a sequence
+ * of root-level values or a single top-level array, unwrapped as in {@link MultiDiscriminatorIterator}; only the
+ * tokens of the value being completed are retained, never the whole payload.
+ * <p>
+ * Instances are not thread-safe, and a feeder that has thrown must not be fed again.
+ *
+ * @param <T> the value type
+ */
+public final class MultiDiscriminatorFeeder<T> implements Closeable {
+    private final StreamingMapper streamingMapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final JavaType type;
+    private @Nullable TokenBuffer current;
+    private int depth;
+    private boolean started;
+    private boolean inArray;
+    private boolean arrayClosed;
+    private byte @Nullable [] scratch;
+
+    MultiDiscriminatorFeeder(StreamingMapper streamingMapper, JsonParser parser, JavaType type) {
+        this.streamingMapper = streamingMapper;
+        this.parser = parser;
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.type = type;
+    }
+
+    public JavaType getValueType() {
+        return type;
+    }
+
+    public List<T> feed(byte[] chunk) throws IOException {
+        return feed(chunk, 0, chunk.length);
+    }
+
+    /**
+     * Feeds the next chunk of input and returns the values it completes, in input order. The chunk is fully consumed
+     * before this method returns, so the caller may reuse the array afterwards.
+     */
+    public List<T> feed(byte[] chunk, int offset, int length) throws IOException {
+        feeder.feedInput(chunk, offset, offset + length);
+        return drain();
+    }
+
+    /**
+     * Feeds the remaining bytes of {@code chunk} and advances its position to its limit. Direct buffers are copied
+     * through a scratch array that is reused between calls.
+     */
+    public List<T> feed(ByteBuffer chunk) throws IOException {
+        int length = chunk.remaining();
+        if (chunk.hasArray()) {
+            List<T> values = feed(chunk.array(), chunk.arrayOffset() + chunk.position(), length);
+            chunk.position(chunk.limit());
+            return values;
+        }
+        byte[] buffer = scratch;
+        if (buffer == null || buffer.length < length) {
+            buffer = new byte[length];
+            scratch = buffer;
+        }
+        chunk.get(buffer, 0, length);
+        return feed(buffer, 0, length);
+    }
+
+    /**
+     * Signals the end of input and returns the values completed by it, such as a trailing number that needed the end
+     * of input to terminate. Fails if the input ends inside a value.
+     */
+    public List<T> endOfInput() throws IOException {
+        feeder.endOfInput();
+        List<T> values = drain();
+        if (current != null || (inArray && !arrayClosed)) {
+            throw new IOException("Unexpected end of input in value of " + type);
+        }
+        close();
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private List<T> drain() throws IOException {
+        List<T> values = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+            if (!started) {
+                started = true;
+                if (token == JsonToken.START_ARRAY && !type.isArrayType() && !type.isCollectionLikeType()) {
+                    inArray = true;
+                    continue;
+                }
+            }
+            if (arrayClosed) {
+                throw new IOException("Unexpected content after top-level array of " + type);
+            }
+            TokenBuffer buffer = current;
+            if (buffer == null) {
+                if (inArray && token == JsonToken.END_ARRAY) {
+                    arrayClosed = true;
+                    continue;
+                }
+                buffer = new TokenBuffer(parser);
+                current = buffer;
+            }
+            buffer.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == 0) {
+                current = null;
+                values.add(bind(buffer));
+            }
+        }
+        return values;
+    }
+
+    private T bind(TokenBuffer buffer) throws IOException {
+        Object value;
+        try (JsonParser replay = buffer.asParser(parser)) {
+            value = streamingMapper.readValue(replay, type);
+        }
+        if (value == null) {
+            throw new IOException("Null value for " + type);
+        }
+        @SuppressWarnings("unchecked")
+        T casted = (T) value;
+        return casted;
+    }
+}
@@ -0,0 +1,127 @@
+package jp.akimateras.jackson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+
+/**
+ * Iterator over a sequence of values read with one parser, created by
+ * {@link MultiDiscriminatorObjectMapper#readValues(java.io.InputStream, Class)}.
+ * <p>
+ * The input is either a sequence of root-level values, such as newline-delimited JSON, or a single top-level array
+ * whose elements are the values. A top-level array is only unwrapped when the value type is not itself an array or
+ * collection type. Values are bound one at a time, so memory use does not depend on the size of the input.
+ * <p>
+ * {@link #hasNext()} and {@link #next()} report read failures as {@link UncheckedIOException};
+ * {@link #hasNextValue()} and {@link #nextValue()} throw the {@link IOException} itself. Instances are not thread-safe.
+ *
+ * @param <T> the value type
+ */
+public final class MultiDiscriminatorIterator<T> implements Iterator<T>, Closeable {
+    private final StreamingMapper streamingMapper;
+    private final JsonParser parser;
+    private final JavaType type;
+    private boolean started;
+    private boolean inArray;
+    private boolean pending;
+    private boolean closed;
+
+    MultiDiscriminatorIterator(StreamingMapper streamingMapper, JsonParser parser, JavaType type) {
+        this.streamingMapper = streamingMapper;
+        this.parser = parser;
+        this.type = type;
+    }
+
+    public boolean hasNextValue() throws IOException {
+        if (pending) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        JsonToken token = parser.nextToken();
+        if (!started) {
+            started = true;
+            if (token == JsonToken.START_ARRAY && !type.isArrayType() && !type.isCollectionLikeType()) {
+                inArray = true;
+                token = parser.nextToken();
+            }
+        }
+        if (token == null || (inArray && token == JsonToken.END_ARRAY)) {
+            close();
+            return false;
+        }
+        pending = true;
+        return true;
+    }
+
+    public T nextValue() throws IOException {
+        if (!hasNextValue()) {
+            throw new NoSuchElementException();
+        }
+        pending = false;
+        Object value = streamingMapper.readValue(parser, type);
+        if (value == null) {
+            throw new IOException("Null value for " + type);
+        }
+        @SuppressWarnings("unchecked")
+        T casted = (T) value;
+        return casted;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return hasNextValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        try {
+            return nextValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a sequential stream over the remaining values; closing the stream closes this iterator.
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Closes the parser and, unless {@code AUTO_CLOSE_SOURCE} is disabled on the underlying {@code ObjectMapper}, the
+     * input.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            pending = false;
+            parser.close();
+        }
+    }
+}
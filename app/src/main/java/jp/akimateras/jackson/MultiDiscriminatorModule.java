@@ -0,0 +1,165 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+/**
+ * Jackson module that resolves multi-level discriminators inside a plain {@code ObjectMapper}.
+ * <p>
+ * Every type annotated with a {@code @JsonTypeInfo} that names its subtypes in a property (or deduces them) is bound by
+ * the streaming engine of {@link MultiDiscriminatorObjectMapper}, including unions nested in values that Jackson
+ * deserializes itself. Other {@code @JsonTypeInfo} kinds, such as class ids or wrapper objects, are left to Jackson.
+ * Subtype tables are built once per mapper, so subtypes should be registered on a mapper before its first read.
+ * <p>
+ * Concrete union members are serialized with every discriminator level, so values written by the mapper read back
+ * through the same hierarchy.
+ * <p>
+ * Mappers created with {@code ObjectMapper.copy()} share the module with the original but get their own subtype tables
+ * and configuration, found through the codec of the parser or generator in use. Parsers and generators without an
+ * {@code ObjectMapper} codec use those of the mapper the module was registered with.
+ */
+public final class MultiDiscriminatorModule extends Module {
+    private final boolean defaultNonNull;
+
+    public MultiDiscriminatorModule() {
+        this(true);
+    }
+
+    public MultiDiscriminatorModule(boolean defaultNonNull) {
+        this.defaultNonNull = defaultNonNull;
+    }
+
+    @Override
+    public String getModuleName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        Registry registry = new Registry(context.getOwner(), defaultNonNull);
+        context.addDeserializers(new UnionDeserializers(registry));
+        context.addSerializers(registry.owner().serializers());
+    }
+
+    /**
+     * Reading and writing state bound to one {@code ObjectMapper}.
+     */
+    private record Binding(DiscriminatorTypeResolver typeResolver, StreamingMapper streamingMapper,
+            UnionSerializers serializers) {
+    }
+
+    /**
+     * The binding of the registering mapper, and those of its copies created on first use. Copies are held through
+     * soft references, so a binding never keeps its otherwise unreachable mapper alive for long.
+     */
+    private static final class Registry {
+        private final ObjectMapper ownerMapper;
+        private final boolean defaultNonNull;
+        private final Binding owner;
+        private final Map<ObjectMapper, SoftReference<Binding>> copies = new WeakHashMap<>();
+
+        Registry(ObjectMapper ownerMapper, boolean defaultNonNull) {
+            this.ownerMapper = ownerMapper;
+            this.defaultNonNull = defaultNonNull;
+            this.owner = bind(ownerMapper);
+        }
+
+        Binding owner() {
+            return owner;
+        }
+
+        Binding forCodec(@Nullable ObjectCodec codec) {
+            if (!(codec instanceof ObjectMapper mapper) || mapper == ownerMapper) {
+                return owner;
+            }
+            synchronized (copies) {
+                SoftReference<Binding> reference = copies.get(mapper);
+                Binding binding = reference != null ? reference.get() : null;
+                if (binding == null) {
+                    binding = bind(mapper);
+                    copies.put(mapper, new SoftReference<>(binding));
+                }
+                return binding;
+            }
+        }
+
+        private Binding bind(ObjectMapper mapper) {
+            DiscriminatorTypeResolver typeResolver = new DiscriminatorTypeResolver(mapper);
+            StreamingMapper streamingMapper = new StreamingMapper(mapper, typeResolver,
+                    new ObjectPlanner(mapper, defaultNonNull), new ContainerFactory(mapper));
+            return new Binding(typeResolver, streamingMapper,
+                    new UnionSerializers(typeResolver, codec -> forCodec(codec).serializers()));
+        }
+    }
+
+    private static final class UnionDeserializers extends Deserializers.Base {
+        private final Registry registry;
+
+        UnionDeserializers(Registry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public @Nullable JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config,
+                BeanDescription beanDesc) {
+            if (!registry.owner().typeResolver().hasSupportedTypeInfo(type.getRawClass())) {
+                return null;
+            }
+            return new UnionDeserializer(type, registry);
+        }
+    }
+
+    /**
+     * Binds a union through {@link StreamingMapper}; Jackson's own {@link TypeDeserializer} is ignored because it only
+     * understands a single discriminator level.
+     */
+    private static final class UnionDeserializer extends StdDeserializer<Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Registry registry;
+
+        UnionDeserializer(JavaType type, Registry registry) {
+            super(type);
+            this.registry = registry;
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            StreamingMapper streamingMapper = registry.forCodec(p.getCodec()).streamingMapper();
+            Object value = streamingMapper.readValue(p, getValueType());
+            if (value == null) {
+                throw new IOException("Null value for " + getValueType());
+            }
+            return value;
+        }
+
+        @Override
+        public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+                throws IOException {
+            return deserialize(p, ctxt);
+        }
+    }
+}
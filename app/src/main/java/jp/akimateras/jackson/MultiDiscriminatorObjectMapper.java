@@ -1,16 +1,42 @@
 package jp.akimateras.jackson;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 
 public final class MultiDiscriminatorObjectMapper {
     private final ObjectMapper mapper;
+    private final DiscriminatorTypeResolver typeResolver;
     private final NodeMapper nodeMapper;
+    private final StreamingMapper streamingMapper;
+    private final PlanWarmer planWarmer;
+    private final UnionSerializers unionSerializers;
+    private final UnionWriter unionWriter;
+    private final ContainerFactory containers;
+    private volatile @Nullable ParallelDecoder parallelDecoder;
 
     public MultiDiscriminatorObjectMapper() {
         this(defaultObjectMapper(), true);
@@ -24,19 +50,165 @@ public final class MultiDiscriminatorObjectMapper {
         this(mapper, true);
     }
 
+    /**
+     * Wraps {@code mapper}, which stays the source of all configuration: modules or features registered on it later
+     * take effect on both reads and writes. The serializers that write every discriminator level are only used by the
+     * {@code writeValue} methods of this class; {@code mapper} itself is left unchanged.
+     */
     public MultiDiscriminatorObjectMapper(ObjectMapper mapper, boolean defaultNonNull) {
         this.mapper = mapper;
-        this.nodeMapper = new NodeMapper(mapper, new DiscriminatorTypeResolver(mapper), defaultNonNull);
+        this.typeResolver = new DiscriminatorTypeResolver(mapper);
+        ObjectPlanner planner = new ObjectPlanner(mapper, defaultNonNull);
+        this.containers = new ContainerFactory(mapper);
+        this.nodeMapper = new NodeMapper(mapper, typeResolver, planner, containers);
+        this.streamingMapper = new StreamingMapper(mapper, typeResolver, planner, containers);
+        this.planWarmer = new PlanWarmer(mapper, typeResolver, planner);
+        this.unionSerializers = new UnionSerializers(typeResolver);
+        this.unionWriter = new UnionWriter(mapper, unionSerializers);
+    }
+
+    /**
+     * Registers subtypes on the underlying {@code ObjectMapper} and drops the cached subtype tables so the new
+     * subtypes take part in discriminator resolution.
+     */
+    public void registerSubtypes(NamedType... subtypes) {
+        mapper.registerSubtypes(subtypes);
+        invalidateSubtypeTables();
+    }
+
+    /**
+     * Registers subtypes on the underlying {@code ObjectMapper} and drops the cached subtype tables so the new
+     * subtypes take part in discriminator resolution.
+     */
+    public void registerSubtypes(Class<?>... subtypes) {
+        mapper.registerSubtypes(subtypes);
+        invalidateSubtypeTables();
+    }
+
+    /**
+     * Drops the cached subtype tables. Call this after registering subtypes directly on the underlying
+     * {@code ObjectMapper}.
+     */
+    public void invalidateSubtypeTables() {
+        typeResolver.invalidate();
+        unionSerializers.invalidate();
+        unionWriter.invalidate();
+    }
+
+    /**
+     * Decodes the elements of root-level arrays and collections with at least {@code threshold} elements in parallel
+     * on the common {@link ForkJoinPool}.
+     */
+    public MultiDiscriminatorObjectMapper enableParallelDecoding(int threshold) {
+        return enableParallelDecoding(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Decodes the elements of root-level arrays and collections with at least {@code threshold} elements in parallel
+     * on {@code executor}. Element order is preserved, and when several elements fail the error of the first one is
+     * thrown. Nested containers and primitive arrays are still decoded sequentially.
+     */
+    public MultiDiscriminatorObjectMapper enableParallelDecoding(int threshold, Executor executor) {
+        parallelDecoder = new ParallelDecoder(nodeMapper, streamingMapper, containers, threshold, executor);
+        return this;
+    }
+
+    public MultiDiscriminatorObjectMapper disableParallelDecoding() {
+        parallelDecoder = null;
+        return this;
+    }
+
+    /**
+     * Materializes {@code List}, {@code Collection}, {@code Set} and {@code Map} targets as exact-size immutable
+     * structures, for decoded values that are kept in caches and never mutated. Other container types are unaffected.
+     */
+    public MultiDiscriminatorObjectMapper enableCompactCollections() {
+        containers.setCompact(true);
+        return this;
+    }
+
+    public MultiDiscriminatorObjectMapper disableCompactCollections() {
+        containers.setCompact(false);
+        return this;
+    }
+
+    /**
+     * Returns the number of unions read from streaming input so far.
+     */
+    public long getUnionReadCount() {
+        return streamingMapper.unionReadCount();
+    }
+
+    /**
+     * Returns the number of unions read from streaming input whose fields had to be buffered because a discriminator
+     * did not come first or stays visible to the subtype. The remaining unions were bound without buffering.
+     */
+    public long getBufferedUnionReadCount() {
+        return streamingMapper.bufferedUnionReadCount();
+    }
+
+    /**
+     * Compiles the dispatch tables and object plans of every type reachable from {@code roots}: record components,
+     * creator parameters, setters, fields, container contents and every subtype of the unions on the way. Call this
+     * at startup so the first reads do not pay for introspection.
+     */
+    public PrecompileReport precompile(Class<?>... roots) {
+        List<JavaType> types = new ArrayList<>(roots.length);
+        for (Class<?> root : roots) {
+            types.add(mapper.getTypeFactory().constructType(root));
+        }
+        return precompile(types);
+    }
+
+    /**
+     * Compiles the dispatch tables and object plans of every type reachable from {@code roots}, as
+     * {@link #precompile(Class...)} does.
+     */
+    public PrecompileReport precompile(JavaType... roots) {
+        return precompile(List.of(roots));
+    }
+
+    private PrecompileReport precompile(List<JavaType> roots) {
+        long start = System.nanoTime();
+        PlanWarmer.Result result = planWarmer.warm(roots);
+        return new PrecompileReport(result.typeCount(), result.planCount(), result.dispatchTableCount(),
+                result.failures(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Returns a reader for {@code clazz} whose plans, and those of every type reachable from it, are compiled up front.
+     */
+    public <T> MultiDiscriminatorReader<T> readerFor(Class<T> clazz) {
+        return newReader(mapper.getTypeFactory().constructType(clazz));
+    }
+
+    /**
+     * Returns a reader for {@code typeRef} whose plans, and those of every type reachable from it, are compiled up
+     * front.
+     */
+    public <T> MultiDiscriminatorReader<T> readerFor(TypeReference<T> typeRef) {
+        return newReader(mapper.getTypeFactory().constructType(typeRef));
+    }
+
+    /**
+     * Returns a reader for {@code type} whose plans, and those of every type reachable from it, are compiled up front.
+     */
+    public MultiDiscriminatorReader<Object> readerFor(JavaType type) {
+        return newReader(type);
+    }
+
+    private <T> MultiDiscriminatorReader<T> newReader(JavaType type) {
+        planWarmer.warm(type);
+        return new MultiDiscriminatorReader<>(this, type);
     }
 
     public <T> T readValue(String json, Class<T> clazz) throws IOException {
-        JsonNode node = mapper.readTree(json);
-        return readValue(node, clazz);
+        return read(mapper.createParser(json), clazz);
     }
 
     public <T> T readValue(JsonNode node, Class<T> clazz) throws IOException {
         JavaType targetType = mapper.getTypeFactory().constructType(clazz);
-        Object mapped = nodeMapper.mapNode(node, targetType);
+        Object mapped = mapNode(node, targetType);
         if (mapped == null) {
             throw new IOException("Null value for " + clazz.getName());
         }
@@ -44,8 +216,7 @@ public final class MultiDiscriminatorObjectMapper {
     }
 
     public <T> T readValue(String json, TypeReference<T> typeRef) throws IOException {
-        JsonNode node = mapper.readTree(json);
-        return readValue(node, typeRef);
+        return read(mapper.createParser(json), typeRef);
     }
 
     public <T> T readValue(JsonNode node, TypeReference<T> typeRef) throws IOException {
@@ -57,18 +228,349 @@ public final class MultiDiscriminatorObjectMapper {
     }
 
     public Object readValue(String json, JavaType type) throws IOException {
-        JsonNode node = mapper.readTree(json);
-        return readValue(node, type);
+        return read(mapper.createParser(json), type);
     }
 
     public Object readValue(JsonNode node, JavaType type) throws IOException {
-        Object mapped = nodeMapper.mapNode(node, type);
+        Object mapped = mapNode(node, type);
         if (mapped == null) {
             throw new IOException("Null value for " + type);
         }
         return mapped;
     }
 
+    public <T> T readValue(byte[] content, Class<T> clazz) throws IOException {
+        return read(mapper.createParser(content), clazz);
+    }
+
+    public <T> T readValue(byte[] content, TypeReference<T> typeRef) throws IOException {
+        return read(mapper.createParser(content), typeRef);
+    }
+
+    public Object readValue(byte[] content, JavaType type) throws IOException {
+        return read(mapper.createParser(content), type);
+    }
+
+    public <T> T readValue(byte[] content, int offset, int length, Class<T> clazz) throws IOException {
+        return read(mapper.createParser(content, offset, length), clazz);
+    }
+
+    public <T> T readValue(byte[] content, int offset, int length, TypeReference<T> typeRef) throws IOException {
+        return read(mapper.createParser(content, offset, length), typeRef);
+    }
+
+    public Object readValue(byte[] content, int offset, int length, JavaType type) throws IOException {
+        return read(mapper.createParser(content, offset, length), type);
+    }
+
+    /**
+     * Reads from {@code in}; the stream is closed afterwards unless {@code AUTO_CLOSE_SOURCE} is disabled on the
+     * underlying {@code ObjectMapper}.
+     */
+    public <T> T readValue(InputStream in, Class<T> clazz) throws IOException {
+        return read(mapper.createParser(in), clazz);
+    }
+
+    /**
+     * Reads from {@code in}; the stream is closed afterwards unless {@code AUTO_CLOSE_SOURCE} is disabled on the
+     * underlying {@code ObjectMapper}.
+     */
+    public <T> T readValue(InputStream in, TypeReference<T> typeRef) throws IOException {
+        return read(mapper.createParser(in), typeRef);
+    }
+
+    /**
+     * Reads from {@code in}; the stream is closed afterwards unless {@code AUTO_CLOSE_SOURCE} is disabled on the
+     * underlying {@code ObjectMapper}.
+     */
+    public Object readValue(InputStream in, JavaType type) throws IOException {
+        return read(mapper.createParser(in), type);
+    }
+
+    /**
+     * Reads from {@code reader}; the reader is closed afterwards unless {@code AUTO_CLOSE_SOURCE} is disabled on the
+     * underlying {@code ObjectMapper}.
+     */
+    public <T> T readValue(Reader reader, Class<T> clazz) throws IOException {
+        return read(mapper.createParser(reader), clazz);
+    }
+
+    /**
+     * Reads from {@code reader}; the reader is closed afterwards unless {@code AUTO_CLOSE_SOURCE} is disabled on the
+     * underlying {@code ObjectMapper}.
+     */
+    public <T> T readValue(Reader reader, TypeReference<T> typeRef) throws IOException {
+        return read(mapper.createParser(reader), typeRef);
+    }
+
+    /**
+     * Reads from {@code reader}; the reader is closed afterwards unless {@code AUTO_CLOSE_SOURCE} is disabled on the
+     * underlying {@code ObjectMapper}.
+     */
+    public Object readValue(Reader reader, JavaType type) throws IOException {
+        return read(mapper.createParser(reader), type);
+    }
+
+    /**
+     * Reads the remaining bytes of {@code buffer} without changing its position.
+     */
+    public <T> T readValue(ByteBuffer buffer, Class<T> clazz) throws IOException {
+        return read(createParser(buffer), clazz);
+    }
+
+    /**
+     * Reads the remaining bytes of {@code buffer} without changing its position.
+     */
+    public <T> T readValue(ByteBuffer buffer, TypeReference<T> typeRef) throws IOException {
+        return read(createParser(buffer), typeRef);
+    }
+
+    /**
+     * Reads the remaining bytes of {@code buffer} without changing its position.
+     */
+    public Object readValue(ByteBuffer buffer, JavaType type) throws IOException {
+        return read(createParser(buffer), type);
+    }
+
+    public <T> T readValue(Path path, Class<T> clazz) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(mapper.createParser(in), clazz);
+        }
+    }
+
+    public <T> T readValue(Path path, TypeReference<T> typeRef) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(mapper.createParser(in), typeRef);
+        }
+    }
+
+    public Object readValue(Path path, JavaType type) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(mapper.createParser(in), type);
+        }
+    }
+
+    /**
+     * Returns an iterator over the values of {@code in}: newline-delimited (or otherwise whitespace-separated) values,
+     * or the elements of one top-level array.
+     */
+    public <T> MultiDiscriminatorIterator<T> readValues(InputStream in, Class<T> clazz) throws IOException {
+        return readValues(mapper.createParser(in), mapper.getTypeFactory().constructType(clazz));
+    }
+
+    /**
+     * Returns an iterator over the values of {@code in}: newline-delimited (or otherwise whitespace-separated) values,
+     * or the elements of one top-level array.
+     */
+    public <T> MultiDiscriminatorIterator<T> readValues(InputStream in, TypeReference<T> typeRef) throws IOException {
+        return readValues(mapper.createParser(in), mapper.getTypeFactory().constructType(typeRef));
+    }
+
+    /**
+     * Returns an iterator over the values of {@code in}: newline-delimited (or otherwise whitespace-separated) values,
+     * or the elements of one top-level array.
+     */
+    public MultiDiscriminatorIterator<Object> readValues(InputStream in, JavaType type) throws IOException {
+        return readValues(mapper.createParser(in), type);
+    }
+
+    /**
+     * Returns an iterator over the values of {@code reader}: newline-delimited (or otherwise whitespace-separated)
+     * values, or the elements of one top-level array.
+     */
+    public <T> MultiDiscriminatorIterator<T> readValues(Reader reader, Class<T> clazz) throws IOException {
+        return readValues(mapper.createParser(reader), mapper.getTypeFactory().constructType(clazz));
+    }
+
+    /**
+     * Returns an iterator over the values of {@code reader}: newline-delimited (or otherwise whitespace-separated)
+     * values, or the elements of one top-level array.
+     */
+    public <T> MultiDiscriminatorIterator<T> readValues(Reader reader, TypeReference<T> typeRef) throws IOException {
+        return readValues(mapper.createParser(reader), mapper.getTypeFactory().constructType(typeRef));
+    }
+
+    /**
+     * Returns an iterator over the values of {@code reader}: newline-delimited (or otherwise whitespace-separated)
+     * values, or the elements of one top-level array.
+     */
+    public MultiDiscriminatorIterator<Object> readValues(Reader reader, JavaType type) throws IOException {
+        return readValues(mapper.createParser(reader), type);
+    }
+
+    /**
+     * Returns an iterator over the values of {@code json}: newline-delimited (or otherwise whitespace-separated)
+     * values, or the elements of one top-level array.
+     */
+    public <T> MultiDiscriminatorIterator<T> readValues(String json, Class<T> clazz) throws IOException {
+        return readValues(mapper.createParser(json), mapper.getTypeFactory().constructType(clazz));
+    }
+
+    /**
+     * Returns an iterator over the values of {@code content}: newline-delimited (or otherwise whitespace-separated)
+     * values, or the elements of one top-level array.
+     */
+    public <T> MultiDiscriminatorIterator<T> readValues(byte[] content, Class<T> clazz) throws IOException {
+        return readValues(mapper.createParser(content), mapper.getTypeFactory().constructType(clazz));
+    }
+
+    /**
+     * Returns an iterator over the values of the file at {@code path}: newline-delimited (or otherwise
+     * whitespace-separated) values, or the elements of one top-level array. The file is memory-mapped and parsed
+     * incrementally, so only the value being bound is held on the heap. Closing the iterator releases the file.
+     */
+    public <T> MultiDiscriminatorIterator<T> readValues(Path path, Class<T> clazz) throws IOException {
+        return readValues(createMappedParser(path), mapper.getTypeFactory().constructType(clazz));
+    }
+
+    /**
+     * Returns an iterator over the values of the file at {@code path}, memory-mapped as for
+     * {@link #readValues(Path, Class)}.
+     */
+    public <T> MultiDiscriminatorIterator<T> readValues(Path path, TypeReference<T> typeRef) throws IOException {
+        return readValues(createMappedParser(path), mapper.getTypeFactory().constructType(typeRef));
+    }
+
+    /**
+     * Returns an iterator over the values of the file at {@code path}, memory-mapped as for
+     * {@link #readValues(Path, Class)}.
+     */
+    public MultiDiscriminatorIterator<Object> readValues(Path path, JavaType type) throws IOException {
+        return readValues(createMappedParser(path), type);
+    }
+
+    private <T> MultiDiscriminatorIterator<T> readValues(JsonParser parser, JavaType type) {
+        return new MultiDiscriminatorIterator<>(streamingMapper, parser, type);
+    }
+
+    /**
+     * Returns an incremental decoder for {@code clazz} that accepts UTF-8 input in chunks, for event-loop and reactive
+     * pipelines that must not block or aggregate the whole body.
+     */
+    public <T> MultiDiscriminatorFeeder<T> feederFor(Class<T> clazz) throws IOException {
+        return newFeeder(mapper.getTypeFactory().constructType(clazz));
+    }
+
+    /**
+     * Returns an incremental decoder for {@code typeRef} that accepts UTF-8 input in chunks.
+     */
+    public <T> MultiDiscriminatorFeeder<T> feederFor(TypeReference<T> typeRef) throws IOException {
+        return newFeeder(mapper.getTypeFactory().constructType(typeRef));
+    }
+
+    /**
+     * Returns an incremental decoder for {@code type} that accepts UTF-8 input in chunks.
+     */
+    public MultiDiscriminatorFeeder<Object> feederFor(JavaType type) throws IOException {
+        return newFeeder(type);
+    }
+
+    private <T> MultiDiscriminatorFeeder<T> newFeeder(JavaType type) throws IOException {
+        return new MultiDiscriminatorFeeder<>(streamingMapper, mapper.createNonBlockingByteArrayParser(), type);
+    }
+
+    /**
+     * Serializes {@code value}, writing every discriminator level of the unions it belongs to.
+     */
+    public String writeValueAsString(Object value) throws IOException {
+        return unionWriter.writeValueAsString(value);
+    }
+
+    /**
+     * Serializes {@code value} as UTF-8, writing every discriminator level of the unions it belongs to.
+     */
+    public byte[] writeValueAsBytes(Object value) throws IOException {
+        return unionWriter.writeValueAsBytes(value);
+    }
+
+    /**
+     * Serializes {@code value} to {@code out}, writing every discriminator level of the unions it belongs to. The
+     * stream is closed afterwards unless {@code AUTO_CLOSE_TARGET} is disabled on the underlying {@code ObjectMapper}.
+     */
+    public void writeValue(OutputStream out, Object value) throws IOException {
+        unionWriter.writeValue(out, value);
+    }
+
+    /**
+     * Serializes {@code value} to {@code writer}, writing every discriminator level of the unions it belongs to. The
+     * writer is closed afterwards unless {@code AUTO_CLOSE_TARGET} is disabled on the underlying {@code ObjectMapper}.
+     */
+    public void writeValue(Writer writer, Object value) throws IOException {
+        unionWriter.writeValue(writer, value);
+    }
+
+    /**
+     * Serializes {@code value} to {@code generator}, writing every discriminator level of the unions it belongs to.
+     */
+    public void writeValue(JsonGenerator generator, Object value) throws IOException {
+        unionWriter.writeValue(generator, value);
+    }
+
+    /**
+     * Heap buffers are parsed in place; direct buffers are streamed through Jackson's byte-based parser.
+     */
+    private JsonParser createParser(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return mapper.createParser(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return mapper.createParser(new ByteBufferBackedInputStream(buffer.duplicate()));
+    }
+
+    /**
+     * The mapped stream is owned by the parser, so it is closed with the parser even when {@code AUTO_CLOSE_SOURCE}
+     * is disabled.
+     */
+    private JsonParser createMappedParser(Path path) throws IOException {
+        MappedInputStream in = new MappedInputStream(path);
+        try {
+            return mapper.createParser(in).enable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private <T> T read(JsonParser parser, Class<T> clazz) throws IOException {
+        JavaType targetType = mapper.getTypeFactory().constructType(clazz);
+        return clazz.cast(readStreaming(parser, targetType, clazz.getName()));
+    }
+
+    private <T> T read(JsonParser parser, TypeReference<T> typeRef) throws IOException {
+        JavaType targetType = mapper.getTypeFactory().constructType(typeRef);
+        @SuppressWarnings("unchecked")
+        T casted = (T) readStreaming(parser, targetType, targetType.toString());
+        return casted;
+    }
+
+    private Object read(JsonParser parser, JavaType type) throws IOException {
+        return readStreaming(parser, type, type.toString());
+    }
+
+    private @Nullable Object mapNode(JsonNode node, JavaType type) throws IOException {
+        ParallelDecoder parallel = parallelDecoder;
+        return parallel != null ? parallel.mapNode(node, type) : nodeMapper.mapNode(node, type);
+    }
+
+    /**
+     * Binds the content of {@code source} token by token, without building an intermediate {@code JsonNode} tree, and
+     * closes the parser.
+     */
+    private Object readStreaming(JsonParser source, JavaType type, String label) throws IOException {
+        try (JsonParser parser = source) {
+            ParallelDecoder parallel = parallelDecoder;
+            Object mapped = parallel != null
+                    ? parallel.readValue(parser, type)
+                    : streamingMapper.readValue(parser, type);
+            if (mapped == null) {
+                throw new IOException("Null value for " + label);
+            }
+            if (mapper.isEnabled(DeserializationFeature.FAIL_ON_TRAILING_TOKENS) && parser.nextToken() != null) {
+                throw new IOException("Trailing token after value of " + label);
+            }
+            return mapped;
+        }
+    }
+
     private static ObjectMapper defaultObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.enable(JsonReadFeature.ALLOW_TRAILING_COMMA.mappedFeature());
@@ -0,0 +1,81 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Reader bound to one root type, created by {@link MultiDiscriminatorObjectMapper#readerFor(Class)}.
+ * <p>
+ * The root type is resolved and the plans of every reachable type are compiled when the reader is created. Readers are
+ * immutable and can be shared between threads.
+ *
+ * @param <T> the root type
+ */
+public final class MultiDiscriminatorReader<T> {
+    private final MultiDiscriminatorObjectMapper owner;
+    private final JavaType type;
+
+    MultiDiscriminatorReader(MultiDiscriminatorObjectMapper owner, JavaType type) {
+        this.owner = owner;
+        this.type = type;
+    }
+
+    public JavaType getValueType() {
+        return type;
+    }
+
+    public T readValue(String json) throws IOException {
+        return cast(owner.readValue(json, type));
+    }
+
+    public T readValue(JsonNode node) throws IOException {
+        return cast(owner.readValue(node, type));
+    }
+
+    public T readValue(byte[] content) throws IOException {
+        return cast(owner.readValue(content, type));
+    }
+
+    public T readValue(byte[] content, int offset, int length) throws IOException {
+        return cast(owner.readValue(content, offset, length, type));
+    }
+
+    public T readValue(InputStream in) throws IOException {
+        return cast(owner.readValue(in, type));
+    }
+
+    public T readValue(Reader reader) throws IOException {
+        return cast(owner.readValue(reader, type));
+    }
+
+    public T readValue(ByteBuffer buffer) throws IOException {
+        return cast(owner.readValue(buffer, type));
+    }
+
+    public T readValue(Path path) throws IOException {
+        return cast(owner.readValue(path, type));
+    }
+
+    /** Returns an iterator over newline-delimited values, or the elements of one top-level array, of {@code in}. */
+    @SuppressWarnings("unchecked")
+    public MultiDiscriminatorIterator<T> readValues(InputStream in) throws IOException {
+        return (MultiDiscriminatorIterator<T>) (MultiDiscriminatorIterator<?>) owner.readValues(in, type);
+    }
+
+    /** Returns an iterator over newline-delimited values, or the elements of one top-level array, of {@code reader}. */
+    @SuppressWarnings("unchecked")
+    public MultiDiscriminatorIterator<T> readValues(Reader reader) throws IOException {
+        return (MultiDiscriminatorIterator<T>) (MultiDiscriminatorIterator<?>) owner.readValues(reader, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T cast(Object value) {
+        return (T) value;
+    }
+}
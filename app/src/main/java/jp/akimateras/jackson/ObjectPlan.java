@@ -0,0 +1,238 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+/**
+ * Compiled deserialization strategy for a single object type.
+ * <p>
+ * Plans are produced by {@link ObjectPlanner}, hold every reflective lookup and annotation scan already resolved,
+ * and are immutable so they can be shared between threads. Creators and accessors are kept as {@link MethodHandle}s
+ * built by {@link Accessors}.
+ */
+sealed interface ObjectPlan permits ObjectPlan.CreatorPlan, ObjectPlan.DelegatingPlan, ObjectPlan.BuilderPlan,
+        ObjectPlan.FallbackPlan {
+    Class<?> type();
+
+    /**
+     * Properties-based construction through a canonical record constructor, a constructor, a static factory or a
+     * default constructor, followed by setter and field bindings.
+     * <p>
+     * Slots of {@link #index()} number the creator parameters first, then the property bindings.
+     */
+    record CreatorPlan(Class<?> type, MethodHandle creator, List<CreatorParameter> parameters,
+            List<PropertyBinding> properties, PropertyIndex index) implements ObjectPlan {
+        CreatorPlan(Class<?> type, MethodHandle creator, List<CreatorParameter> parameters,
+                List<PropertyBinding> properties) {
+            this(type, creator, parameters, properties, PropertyIndex.of(parameters.stream()
+                    .map(CreatorParameter::names).toList(), properties));
+        }
+
+        Object newInstance(@Nullable Object[] args) throws IOException {
+            return instantiate(type, creator, args);
+        }
+    }
+
+    /** Construction through a single-argument delegating {@code @JsonCreator}. */
+    record DelegatingPlan(Class<?> type, MethodHandle creator, CreatorParameter parameter) implements ObjectPlan {
+        Object newInstance(@Nullable Object value) throws IOException {
+            return instantiate(type, creator, new Object[] { parameter.checkValue(value) });
+        }
+    }
+
+    /**
+     * Construction through a builder, followed by setter and field bindings on the built instance.
+     * <p>
+     * Slots of {@link #index()} number the builder bindings first, then the property bindings.
+     */
+    record BuilderPlan(Class<?> type, MethodHandle builderCreator, MethodHandle buildMethod,
+            List<PropertyBinding> builderBindings, List<PropertyBinding> properties, PropertyIndex index)
+            implements ObjectPlan {
+        private static final Object[] NO_ARGS = new Object[0];
+
+        BuilderPlan(Class<?> type, MethodHandle builderCreator, MethodHandle buildMethod,
+                List<PropertyBinding> builderBindings, List<PropertyBinding> properties) {
+            this(type, builderCreator, buildMethod, builderBindings, properties, PropertyIndex.of(builderBindings
+                    .stream().map(PropertyBinding::names).toList(), properties));
+        }
+
+        Object newBuilder() throws IOException {
+            Object builder = instantiate(type, builderCreator, NO_ARGS);
+            if (builder == null) {
+                throw new IOException("Builder factory returned null for " + type.getName());
+            }
+            return builder;
+        }
+
+        Object build(Object builder) throws IOException {
+            Object built;
+            try {
+                built = (Object) buildMethod.invokeExact(builder);
+            } catch (Throwable e) {
+                throw Accessors.failure("Build method failed for " + type.getName(), e);
+            }
+            if (built == null) {
+                throw new IOException("Builder returned null for " + type.getName());
+            }
+            return built;
+        }
+    }
+
+    /** No usable creator was found; the value is handed to the underlying {@code ObjectMapper}. */
+    record FallbackPlan(Class<?> type) implements ObjectPlan {
+    }
+
+    private static Object instantiate(Class<?> type, MethodHandle creator, @Nullable Object[] args)
+            throws IOException {
+        try {
+            return (Object) creator.invokeExact(args);
+        } catch (Throwable e) {
+            throw Accessors.failure("Failed to construct " + type.getName(), e);
+        }
+    }
+
+    record CreatorParameter(PropertyNames names, JavaType type, boolean nullable, String kind) {
+        boolean primitive() {
+            return type.getRawClass().isPrimitive();
+        }
+
+        /** Returns the argument used when the property is absent, or fails if the parameter requires a value. */
+        @Nullable Object missingValue() throws IOException {
+            if (primitive()) {
+                throw new IOException("Missing value for primitive " + kind + " " + names.primary());
+            }
+            if (nullable) {
+                return null;
+            }
+            throw new IOException("Missing value for non-null " + kind + " " + names.primary());
+        }
+
+        @Nullable Object checkValue(@Nullable Object value) throws IOException {
+            if (value == null && !nullable) {
+                throw new IOException("Null value for non-null " + kind + " " + names.primary());
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Property name lookup of a plan: maps every accepted name to the slots that list it, together with the position
+     * of the name in that slot's {@link PropertyNames#candidates()} (lower ranks are preferred). {@link #names()}
+     * holds the candidates of every slot, by slot index.
+     */
+    record PropertyIndex(Map<String, List<Slot>> slots, List<List<String>> names) {
+        static PropertyIndex of(List<PropertyNames> leading, List<PropertyBinding> properties) {
+            Map<String, List<Slot>> slots = new HashMap<>();
+            List<List<String>> names = new ArrayList<>();
+            for (PropertyNames slotNames : leading) {
+                register(slots, names, slotNames);
+            }
+            for (PropertyBinding binding : properties) {
+                register(slots, names, binding.names());
+            }
+            Map<String, List<Slot>> copy = new HashMap<>();
+            slots.forEach((name, list) -> copy.put(name, List.copyOf(list)));
+            return new PropertyIndex(Map.copyOf(copy), List.copyOf(names));
+        }
+
+        private static void register(Map<String, List<Slot>> slots, List<List<String>> names,
+                PropertyNames slotNames) {
+            int index = names.size();
+            List<String> candidates = slotNames.candidates();
+            for (int rank = 0; rank < candidates.size(); rank++) {
+                slots.computeIfAbsent(candidates.get(rank), name -> new ArrayList<>()).add(new Slot(index, rank));
+            }
+            names.add(candidates);
+        }
+
+        List<Slot> find(String name) {
+            List<Slot> found = slots.get(name);
+            return found != null ? found : List.of();
+        }
+    }
+
+    record Slot(int index, int rank) {
+    }
+
+    record PropertyNames(String primary, List<String> aliases, List<String> candidates) {
+        PropertyNames(String primary, List<String> aliases) {
+            this(primary, aliases, candidates(primary, aliases));
+        }
+
+        private static List<String> candidates(String primary, List<String> aliases) {
+            if (aliases.isEmpty()) {
+                return List.of(primary);
+            }
+            List<String> values = new ArrayList<>(1 + aliases.size());
+            values.add(primary);
+            values.addAll(aliases);
+            return List.copyOf(values);
+        }
+    }
+
+    sealed interface PropertyBinding permits FieldBinding, SetterBinding {
+        PropertyNames names();
+
+        JavaType type();
+
+        boolean nullable();
+
+        void apply(Object target, @Nullable Object value) throws IOException;
+
+        /** Applies a decoded value, enforcing the nullability of the property. */
+        default void applyValue(Object target, @Nullable Object value) throws IOException {
+            if (value == null) {
+                if (type().getRawClass().isPrimitive()) {
+                    throw new IOException("Missing value for primitive property " + names().primary());
+                }
+                if (!nullable()) {
+                    throw new IOException("Null value for non-null property " + names().primary());
+                }
+            }
+            apply(target, value);
+        }
+
+        /** Handles a property that is absent from the input. */
+        default void applyMissing(Object target) throws IOException {
+            if (type().getRawClass().isPrimitive()) {
+                throw new IOException("Missing value for primitive property " + names().primary());
+            }
+            if (!nullable()) {
+                throw new IOException("Missing value for non-null property " + names().primary());
+            }
+            apply(target, null);
+        }
+    }
+
+    record FieldBinding(PropertyNames names, MethodHandle setter, JavaType type, boolean nullable)
+            implements PropertyBinding {
+        @Override
+        public void apply(Object target, @Nullable Object value) throws IOException {
+            try {
+                setter.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw Accessors.failure("Unable to set field " + names.primary(), e);
+            }
+        }
+    }
+
+    record SetterBinding(PropertyNames names, MethodHandle setter, JavaType type, boolean nullable)
+            implements PropertyBinding {
+        @Override
+        public void apply(Object target, @Nullable Object value) throws IOException {
+            try {
+                setter.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw Accessors.failure("Setter failed " + names.primary(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,848 @@
+package jp.akimateras.jackson;
+
+import java.beans.Introspector;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.fasterxml.jackson.databind.type.TypeBindings;
+import com.fasterxml.jackson.databind.util.LRUMap;
+
+import jp.akimateras.jackson.ObjectPlan.BuilderPlan;
+import jp.akimateras.jackson.ObjectPlan.CreatorParameter;
+import jp.akimateras.jackson.ObjectPlan.CreatorPlan;
+import jp.akimateras.jackson.ObjectPlan.DelegatingPlan;
+import jp.akimateras.jackson.ObjectPlan.FallbackPlan;
+import jp.akimateras.jackson.ObjectPlan.FieldBinding;
+import jp.akimateras.jackson.ObjectPlan.PropertyBinding;
+import jp.akimateras.jackson.ObjectPlan.PropertyNames;
+import jp.akimateras.jackson.ObjectPlan.SetterBinding;
+
+/**
+ * Builds and caches {@link ObjectPlan}s.
+ * <p>
+ * Plans are keyed by {@link JavaType} and kept in a bounded LRU cache, so mappers that see many dynamically generated
+ * types do not grow without limit. Planning failures are not cached and are reported again on the next lookup.
+ */
+final class ObjectPlanner {
+    static final int DEFAULT_MAX_PLANS = 2000;
+
+    private final ObjectMapper mapper;
+    private final boolean defaultNonNull;
+    private final LRUMap<JavaType, ObjectPlan> plans;
+
+    ObjectPlanner(ObjectMapper mapper, boolean defaultNonNull) {
+        this(mapper, defaultNonNull, DEFAULT_MAX_PLANS);
+    }
+
+    ObjectPlanner(ObjectMapper mapper, boolean defaultNonNull, int maxPlans) {
+        this.mapper = mapper;
+        this.defaultNonNull = defaultNonNull;
+        this.plans = new LRUMap<>(Math.min(64, maxPlans), maxPlans);
+    }
+
+    /** Whether a plan for {@code type} is currently cached. */
+    boolean isCached(JavaType type) {
+        return plans.get(type) != null;
+    }
+
+    ObjectPlan plan(JavaType type) throws IOException {
+        ObjectPlan cached = plans.get(type);
+        if (cached != null) {
+            return cached;
+        }
+        ObjectPlan plan = compile(type);
+        ObjectPlan previous = plans.putIfAbsent(type, plan);
+        return previous != null ? previous : plan;
+    }
+
+    private ObjectPlan compile(JavaType type) throws IOException {
+        Class<?> raw = type.getRawClass();
+        if (raw.isRecord()) {
+            return compileRecord(type, raw);
+        }
+        return compilePojo(type, raw);
+    }
+
+    private ObjectPlan compileRecord(JavaType type, Class<?> recordType) throws IOException {
+        Constructor<?> delegatingCtor = findDelegatingCreatorConstructor(recordType);
+        Method delegatingFactory = findDelegatingCreatorFactoryMethod(recordType);
+        if (delegatingCtor != null && delegatingFactory != null) {
+            throw new IOException("Multiple delegating @JsonCreator creators for " + recordType.getName());
+        }
+        if (delegatingFactory != null) {
+            return compileDelegating(type, delegatingFactory, "factory parameter");
+        }
+        if (delegatingCtor != null) {
+            return compileDelegating(type, delegatingCtor, "constructor parameter");
+        }
+        RecordComponent[] components = recordType.getRecordComponents();
+        List<CreatorParameter> parameters = new ArrayList<>(components.length);
+        Class<?>[] argTypes = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+            argTypes[i] = component.getType();
+            PropertyNames names = resolvePropertyNames(component, component.getName());
+            JavaType componentType = resolveMemberType(component.getGenericType(), type);
+            Nullability nullability = effectiveNullability(resolveNullability(component), isRequired(component));
+            parameters.add(new CreatorParameter(names, componentType, nullability == Nullability.NULLABLE,
+                    "record component"));
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = recordType.getDeclaredConstructor(argTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IOException("Unable to construct record " + recordType.getName(), e);
+        }
+        return new CreatorPlan(recordType, Accessors.creator(constructor), List.copyOf(parameters), List.of());
+    }
+
+    private ObjectPlan compilePojo(JavaType type, Class<?> raw) throws IOException {
+        BuilderInfo builderInfo = findBuilderInfo(raw);
+        if (builderInfo != null) {
+            return compileBuilder(type, raw, builderInfo);
+        }
+        Method creatorFactory = findCreatorFactoryMethod(raw);
+        Constructor<?> creator = findCreatorConstructor(raw);
+        if (creatorFactory != null) {
+            if (creator != null && creator.getAnnotation(JsonCreator.class) != null) {
+                throw new IOException("Multiple @JsonCreator creators for " + raw.getName());
+            }
+            return compileCreator(type, creatorFactory, "factory parameter");
+        }
+        if (creator != null && creator.getParameterCount() > 0) {
+            return compileCreator(type, creator, "constructor parameter");
+        }
+        if (hasDefaultConstructor(raw) || creator != null) {
+            return new CreatorPlan(raw, Accessors.creator(findDefaultConstructor(raw)), List.of(),
+                    collectPropertyBindings(type));
+        }
+        return new FallbackPlan(raw);
+    }
+
+    private ObjectPlan compileCreator(JavaType type, Executable creator, String kind) throws IOException {
+        JsonCreator annotation = creator.getAnnotation(JsonCreator.class);
+        if (annotation != null && annotation.mode() == JsonCreator.Mode.DELEGATING) {
+            return compileDelegating(type, creator, kind);
+        }
+        Parameter[] parameters = creator.getParameters();
+        List<CreatorParameter> compiled = new ArrayList<>(parameters.length);
+        for (Parameter parameter : parameters) {
+            PropertyNames names = resolvePropertyNames(parameter);
+            JavaType paramType = resolveMemberType(parameter.getParameterizedType(), type);
+            Nullability nullability = effectiveNullability(resolveNullability(parameter), isRequired(parameter));
+            compiled.add(new CreatorParameter(names, paramType, nullability == Nullability.NULLABLE, kind));
+        }
+        return new CreatorPlan(type.getRawClass(), Accessors.creator(creator), List.copyOf(compiled),
+                collectPropertyBindings(type));
+    }
+
+    private ObjectPlan compileDelegating(JavaType type, Executable creator, String kind) throws IOException {
+        Class<?> raw = type.getRawClass();
+        if (creator.getParameterCount() != 1) {
+            String label = creator instanceof Method ? "factory" : "constructor";
+            throw new IOException("Delegating @JsonCreator " + label + " must have exactly one parameter for "
+                    + raw.getName());
+        }
+        Parameter parameter = creator.getParameters()[0];
+        JavaType paramType = resolveMemberType(parameter.getParameterizedType(), type);
+        Nullability nullability = effectiveNullability(resolveNullability(parameter), isRequired(parameter));
+        PropertyNames names = new PropertyNames(parameter.getName(), List.of());
+        return new DelegatingPlan(raw, Accessors.creator(creator),
+                new CreatorParameter(names, paramType, nullability == Nullability.NULLABLE, kind));
+    }
+
+    private ObjectPlan compileBuilder(JavaType type, Class<?> raw, BuilderInfo builderInfo) throws IOException {
+        Executable builderCreator = builderInfo.factoryMethod();
+        if (builderCreator == null) {
+            builderCreator = findBuilderConstructor(raw, builderInfo.builderClass());
+        }
+        List<PropertyBinding> builderBindings = collectBuilderBindings(builderInfo.builderClass(),
+                builderInfo.withPrefix(), builderInfo.buildMethodName());
+        return new BuilderPlan(raw, Accessors.creator(builderCreator), Accessors.build(builderInfo.buildMethod()),
+                builderBindings, collectPropertyBindings(type));
+    }
+
+    private JavaType resolveMemberType(Type memberType, JavaType owner) {
+        return mapper.getTypeFactory().resolveMemberType(memberType, owner.getBindings());
+    }
+
+    private @Nullable BuilderInfo findBuilderInfo(Class<?> raw) throws IOException {
+        BuilderInfo annotationInfo = findBuilderInfoFromAnnotation(raw);
+        if (annotationInfo != null) {
+            return annotationInfo;
+        }
+        BuilderInfo factoryInfo = findBuilderInfoFromFactoryMethod(raw);
+        if (factoryInfo != null) {
+            return factoryInfo;
+        }
+        return findBuilderInfoFromNestedClass(raw);
+    }
+
+    private @Nullable BuilderInfo findBuilderInfoFromAnnotation(Class<?> raw) throws IOException {
+        JsonDeserialize deserialize = raw.getAnnotation(JsonDeserialize.class);
+        if (deserialize == null || deserialize.builder() == Void.class) {
+            return null;
+        }
+        Class<?> builderClass = deserialize.builder();
+        BuilderConfig config = resolveBuilderConfig(builderClass);
+        Method buildMethod = findBuildMethod(builderClass, config.buildMethodName(), raw);
+        Method factoryMethod = findBuilderFactory(raw, builderClass);
+        return new BuilderInfo(builderClass, factoryMethod, buildMethod, config.withPrefix());
+    }
+
+    private @Nullable BuilderInfo findBuilderInfoFromFactoryMethod(Class<?> raw) throws IOException {
+        Method builderFactory = null;
+        for (Method method : getAllMethods(raw)) {
+            if (!Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0) {
+                continue;
+            }
+            String name = method.getName();
+            if (!name.equals("builder") && !name.equals("newBuilder")) {
+                continue;
+            }
+            if (builderFactory != null) {
+                throw new IOException("Multiple builder factory methods for " + raw.getName());
+            }
+            builderFactory = method;
+        }
+        if (builderFactory == null) {
+            return null;
+        }
+        Class<?> builderClass = builderFactory.getReturnType();
+        BuilderConfig config = resolveBuilderConfig(builderClass);
+        Method buildMethod = findBuildMethodOptional(builderClass, config.buildMethodName(), raw);
+        if (buildMethod == null) {
+            return null;
+        }
+        return new BuilderInfo(builderClass, builderFactory, buildMethod, config.withPrefix());
+    }
+
+    private @Nullable BuilderInfo findBuilderInfoFromNestedClass(Class<?> raw) throws IOException {
+        Class<?> builderClass = null;
+        for (Class<?> nested : raw.getDeclaredClasses()) {
+            if (nested.getSimpleName().equals("Builder") || nested.getSimpleName().equals(raw.getSimpleName() + "Builder")) {
+                if (!Modifier.isStatic(nested.getModifiers())) {
+                    continue;
+                }
+                if (builderClass != null) {
+                    throw new IOException("Multiple nested builder classes for " + raw.getName());
+                }
+                builderClass = nested;
+            }
+        }
+        if (builderClass == null) {
+            return null;
+        }
+        BuilderConfig config = resolveBuilderConfig(builderClass);
+        Method buildMethod = findBuildMethodOptional(builderClass, config.buildMethodName(), raw);
+        if (buildMethod == null) {
+            return null;
+        }
+        return new BuilderInfo(builderClass, null, buildMethod, config.withPrefix());
+    }
+
+    private BuilderConfig resolveBuilderConfig(Class<?> builderClass) {
+        JsonPOJOBuilder annotation = builderClass.getAnnotation(JsonPOJOBuilder.class);
+        String buildMethodName = "build";
+        String withPrefix = "with";
+        if (annotation != null) {
+            if (!annotation.buildMethodName().isEmpty()) {
+                buildMethodName = annotation.buildMethodName();
+            }
+            withPrefix = annotation.withPrefix();
+        }
+        return new BuilderConfig(buildMethodName, withPrefix);
+    }
+
+    private Method findBuildMethod(Class<?> builderClass, String buildMethodName, Class<?> raw) throws IOException {
+        Method match = null;
+        for (Method method : getAllMethods(builderClass)) {
+            if (!method.getName().equals(buildMethodName) || method.getParameterCount() != 0) {
+                continue;
+            }
+            if (!raw.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+            if (match != null) {
+                throw new IOException("Multiple build methods for " + builderClass.getName());
+            }
+            match = method;
+        }
+        if (match == null) {
+            throw new IOException("Missing build method '" + buildMethodName + "' for " + builderClass.getName());
+        }
+        return match;
+    }
+
+    private @Nullable Method findBuildMethodOptional(Class<?> builderClass, String buildMethodName, Class<?> raw) {
+        Method match = null;
+        for (Method method : getAllMethods(builderClass)) {
+            if (!method.getName().equals(buildMethodName) || method.getParameterCount() != 0) {
+                continue;
+            }
+            if (!raw.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+            if (match != null) {
+                return null;
+            }
+            match = method;
+        }
+        return match;
+    }
+
+    private @Nullable Method findBuilderFactory(Class<?> raw, Class<?> builderClass) {
+        for (Method method : getAllMethods(raw)) {
+            if (!Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0) {
+                continue;
+            }
+            if (!builderClass.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+            String name = method.getName();
+            if (name.equals("builder") || name.equals("newBuilder")) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private Constructor<?> findBuilderConstructor(Class<?> raw, Class<?> builderClass) throws IOException {
+        if (builderClass.isMemberClass() && !Modifier.isStatic(builderClass.getModifiers())) {
+            throw new IOException("Non-static builder class for " + raw.getName());
+        }
+        try {
+            return builderClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IOException("No default constructor for builder " + builderClass.getName(), e);
+        }
+    }
+
+    private List<PropertyBinding> collectBuilderBindings(Class<?> builderClass, String withPrefix,
+            String buildMethodName) throws IOException {
+        Map<String, PropertyBinding> bindings = new LinkedHashMap<>();
+        for (Method method : getAllMethods(builderClass)) {
+            if (Modifier.isStatic(method.getModifiers()) || isIgnored(method)) {
+                continue;
+            }
+            PropertyNames names = resolveBuilderPropertyNames(method, withPrefix, buildMethodName);
+            if (names == null) {
+                continue;
+            }
+            JavaType type = mapper.getTypeFactory().constructType(method.getGenericParameterTypes()[0]);
+            bindings.putIfAbsent(names.primary(), newSetterBinding(names, method, type));
+        }
+        return List.copyOf(bindings.values());
+    }
+
+    private static @Nullable PropertyNames resolveBuilderPropertyNames(Method method, String withPrefix,
+            String buildMethodName) {
+        if (method.getParameterCount() != 1) {
+            return null;
+        }
+        if (method.getName().equals(buildMethodName)) {
+            return null;
+        }
+        JsonProperty property = method.getAnnotation(JsonProperty.class);
+        JsonProperty paramProperty = method.getParameters()[0].getAnnotation(JsonProperty.class);
+        String fallbackName = resolveBuilderPropertyName(method, withPrefix);
+        String primary = resolvePrimaryName(fallbackName, property, paramProperty);
+        if (primary == null || primary.isEmpty()) {
+            return null;
+        }
+        JsonAlias alias = method.getAnnotation(JsonAlias.class);
+        JsonAlias paramAlias = method.getParameters()[0].getAnnotation(JsonAlias.class);
+        List<String> aliases = collectAliases(primary, alias, paramAlias);
+        return new PropertyNames(primary, aliases);
+    }
+
+    private static String resolveBuilderPropertyName(Method method, String withPrefix) {
+        String name = method.getName();
+        if (withPrefix == null) {
+            withPrefix = "";
+        }
+        if (withPrefix.isEmpty()) {
+            return name;
+        }
+        if (name.startsWith(withPrefix) && name.length() > withPrefix.length()) {
+            return Introspector.decapitalize(name.substring(withPrefix.length()));
+        }
+        return "";
+    }
+
+    private static Constructor<?> findDefaultConstructor(Class<?> raw) throws IOException {
+        try {
+            return raw.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IOException("No default constructor for " + raw.getName(), e);
+        }
+    }
+
+    private @Nullable Constructor<?> findCreatorConstructor(Class<?> raw) throws IOException {
+        Constructor<?>[] constructors = raw.getDeclaredConstructors();
+        Constructor<?> annotated = null;
+        Constructor<?> noArgs = null;
+        List<Constructor<?>> nonDefault = new ArrayList<>();
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.getParameterCount() == 0) {
+                noArgs = constructor;
+            } else {
+                nonDefault.add(constructor);
+            }
+            JsonCreator creator = constructor.getAnnotation(JsonCreator.class);
+            if (creator != null) {
+                if (annotated != null) {
+                    throw new IOException("Multiple @JsonCreator constructors for " + raw.getName());
+                }
+                annotated = constructor;
+            }
+        }
+        if (annotated != null) {
+            return annotated;
+        }
+        if (noArgs != null) {
+            return null;
+        }
+        if (nonDefault.size() == 1) {
+            return nonDefault.get(0);
+        }
+        if (nonDefault.isEmpty()) {
+            return null;
+        }
+        throw new IOException("No suitable constructor for " + raw.getName());
+    }
+
+    private @Nullable Method findCreatorFactoryMethod(Class<?> raw) throws IOException {
+        Method annotated = null;
+        for (Method method : getAllMethods(raw)) {
+            if (method.getAnnotation(JsonCreator.class) == null) {
+                continue;
+            }
+            if (!Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (!raw.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+            if (annotated != null) {
+                throw new IOException("Multiple @JsonCreator factory methods for " + raw.getName());
+            }
+            annotated = method;
+        }
+        return annotated;
+    }
+
+    private @Nullable Constructor<?> findDelegatingCreatorConstructor(Class<?> raw) throws IOException {
+        Constructor<?> annotated = null;
+        for (Constructor<?> constructor : raw.getDeclaredConstructors()) {
+            JsonCreator creator = constructor.getAnnotation(JsonCreator.class);
+            if (creator == null || creator.mode() != JsonCreator.Mode.DELEGATING) {
+                continue;
+            }
+            if (annotated != null) {
+                throw new IOException("Multiple delegating @JsonCreator constructors for " + raw.getName());
+            }
+            annotated = constructor;
+        }
+        return annotated;
+    }
+
+    private @Nullable Method findDelegatingCreatorFactoryMethod(Class<?> raw) throws IOException {
+        Method annotated = null;
+        for (Method method : getAllMethods(raw)) {
+            JsonCreator creator = method.getAnnotation(JsonCreator.class);
+            if (creator == null || creator.mode() != JsonCreator.Mode.DELEGATING) {
+                continue;
+            }
+            if (!Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (!raw.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+            if (annotated != null) {
+                throw new IOException("Multiple delegating @JsonCreator factory methods for " + raw.getName());
+            }
+            annotated = method;
+        }
+        return annotated;
+    }
+
+    private static boolean hasDefaultConstructor(Class<?> raw) {
+        try {
+            Constructor<?> constructor = raw.getDeclaredConstructor();
+            return constructor != null;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private List<PropertyBinding> collectPropertyBindings(JavaType type) throws IOException {
+        Class<?> raw = type.getRawClass();
+        Map<String, PropertyBinding> bindings = new LinkedHashMap<>();
+        Set<String> setterTargets = new LinkedHashSet<>();
+        for (Method method : getAllMethods(raw)) {
+            if (isIgnored(method)) {
+                continue;
+            }
+            String fallbackName = resolvePropertyNameFromMethod(method);
+            if (!fallbackName.isEmpty()) {
+                setterTargets.add(fallbackName);
+            }
+            PropertyNames names = resolvePropertyNames(method);
+            if (names == null) {
+                continue;
+            }
+            JavaType propertyType = resolveMemberType(method.getGenericParameterTypes()[0], type);
+            bindings.putIfAbsent(names.primary(), newSetterBinding(names, method, propertyType));
+        }
+        for (Field field : getAllFields(raw)) {
+            if (isIgnored(field)) {
+                continue;
+            }
+            if (Modifier.isFinal(field.getModifiers())) {
+                continue;
+            }
+            if (setterTargets.contains(field.getName())) {
+                continue;
+            }
+            PropertyNames names = resolvePropertyNames(field, field.getName());
+            JavaType propertyType = resolveMemberType(field.getGenericType(), type);
+            bindings.putIfAbsent(names.primary(), newFieldBinding(names, field, propertyType));
+        }
+        return List.copyOf(bindings.values());
+    }
+
+    private SetterBinding newSetterBinding(PropertyNames names, Method method, JavaType type) throws IOException {
+        Parameter parameter = method.getParameters()[0];
+        Nullability nullability = effectiveNullability(
+                mergeNullability(resolveNullability(method), resolveNullability(parameter)),
+                isRequired(method.getAnnotation(JsonProperty.class), parameter.getAnnotation(JsonProperty.class)));
+        return new SetterBinding(names, Accessors.setter(method), type, nullability == Nullability.NULLABLE);
+    }
+
+    private FieldBinding newFieldBinding(PropertyNames names, Field field, JavaType type) throws IOException {
+        Nullability nullability = effectiveNullability(resolveNullability(field), isRequired(field));
+        return new FieldBinding(names, Accessors.fieldSetter(field), type, nullability == Nullability.NULLABLE);
+    }
+
+    private static boolean isIgnored(Field field) {
+        return Modifier.isStatic(field.getModifiers()) || field.getAnnotation(JsonIgnore.class) != null;
+    }
+
+    private static boolean isIgnored(Method method) {
+        return Modifier.isStatic(method.getModifiers()) || method.getAnnotation(JsonIgnore.class) != null;
+    }
+
+    private static List<Field> getAllFields(Class<?> raw) {
+        List<Field> fields = new ArrayList<>();
+        Class<?> current = raw;
+        while (current != null && current != Object.class) {
+            for (Field field : current.getDeclaredFields()) {
+                fields.add(field);
+            }
+            current = current.getSuperclass();
+        }
+        return fields;
+    }
+
+    private static List<Method> getAllMethods(Class<?> raw) {
+        List<Method> methods = new ArrayList<>();
+        Class<?> current = raw;
+        while (current != null && current != Object.class) {
+            for (Method method : current.getDeclaredMethods()) {
+                methods.add(method);
+            }
+            current = current.getSuperclass();
+        }
+        return methods;
+    }
+
+    private static @Nullable PropertyNames resolvePropertyNames(Method method) {
+        if (method.getParameterCount() != 1) {
+            return null;
+        }
+        String fallbackName = resolvePropertyNameFromMethod(method);
+        JsonProperty property = method.getAnnotation(JsonProperty.class);
+        JsonProperty paramProperty = method.getParameters()[0].getAnnotation(JsonProperty.class);
+        String primary = resolvePrimaryName(fallbackName, property, paramProperty);
+        if (primary == null || primary.isEmpty()) {
+            return null;
+        }
+        JsonAlias alias = method.getAnnotation(JsonAlias.class);
+        JsonAlias paramAlias = method.getParameters()[0].getAnnotation(JsonAlias.class);
+        List<String> aliases = collectAliases(primary, alias, paramAlias);
+        return new PropertyNames(primary, aliases);
+    }
+
+    private static PropertyNames resolvePropertyNames(Field field, String fallbackName) {
+        JsonProperty property = field.getAnnotation(JsonProperty.class);
+        String primary = Objects.requireNonNull(resolvePrimaryName(fallbackName, property, null));
+        JsonAlias alias = field.getAnnotation(JsonAlias.class);
+        List<String> aliases = collectAliases(primary, alias);
+        return new PropertyNames(primary, aliases);
+    }
+
+    private static PropertyNames resolvePropertyNames(RecordComponent component, String fallbackName) {
+        JsonProperty componentProperty = component.getAnnotation(JsonProperty.class);
+        JsonAlias componentAlias = component.getAnnotation(JsonAlias.class);
+        Method accessor = component.getAccessor();
+        JsonProperty accessorProperty = accessor.getAnnotation(JsonProperty.class);
+        JsonAlias accessorAlias = accessor.getAnnotation(JsonAlias.class);
+        JsonProperty fieldProperty;
+        JsonAlias fieldAlias;
+        try {
+            Field field = component.getDeclaringRecord().getDeclaredField(component.getName());
+            fieldProperty = field.getAnnotation(JsonProperty.class);
+            fieldAlias = field.getAnnotation(JsonAlias.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Missing record field for " + component.getName(), e);
+        }
+        String primary = resolvePrimaryNameForRecord(fallbackName, componentProperty, accessorProperty, fieldProperty);
+        List<String> aliases = collectAliases(primary, componentAlias, accessorAlias, fieldAlias);
+        return new PropertyNames(primary, aliases);
+    }
+
+    private static PropertyNames resolvePropertyNames(Parameter parameter) throws IOException {
+        JsonProperty property = parameter.getAnnotation(JsonProperty.class);
+        String primary = resolvePrimaryName(null, property, null);
+        if (primary == null || primary.isEmpty()) {
+            if (parameter.isNamePresent()) {
+                primary = parameter.getName();
+            } else {
+                throw new IOException("Missing @JsonProperty for constructor parameter " + parameter.getName());
+            }
+        }
+        JsonAlias alias = parameter.getAnnotation(JsonAlias.class);
+        List<String> aliases = collectAliases(primary, alias);
+        return new PropertyNames(primary, aliases);
+    }
+
+    private static @Nullable String resolvePrimaryName(@Nullable String fallback, @Nullable JsonProperty property,
+            @Nullable JsonProperty parameterProperty) {
+        if (property != null && !property.value().isEmpty()) {
+            return property.value();
+        }
+        if (parameterProperty != null && !parameterProperty.value().isEmpty()) {
+            return parameterProperty.value();
+        }
+        return fallback;
+    }
+
+    private static String resolvePrimaryNameForRecord(String fallback, @Nullable JsonProperty... properties) {
+        for (JsonProperty property : properties) {
+            if (property != null && !property.value().isEmpty()) {
+                return property.value();
+            }
+        }
+        return Objects.requireNonNull(fallback);
+    }
+
+    private static String resolvePropertyNameFromMethod(Method method) {
+        String name = method.getName();
+        if (name.startsWith("set") && name.length() > 3) {
+            return Introspector.decapitalize(name.substring(3));
+        }
+        if (name.startsWith("with") && name.length() > 4) {
+            return Introspector.decapitalize(name.substring(4));
+        }
+        if (isFluentSetter(method)) {
+            return name;
+        }
+        return "";
+    }
+
+    private static boolean isFluentSetter(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            return false;
+        }
+        return method.getDeclaringClass().isAssignableFrom(returnType);
+    }
+
+    private static List<String> collectAliases(String primary, @Nullable JsonAlias... aliasAnnotations) {
+        LinkedHashSet<String> aliases = new LinkedHashSet<>();
+        for (JsonAlias alias : aliasAnnotations) {
+            if (alias == null) {
+                continue;
+            }
+            for (String name : alias.value()) {
+                if (name.isEmpty() || name.equals(primary)) {
+                    continue;
+                }
+                aliases.add(name);
+            }
+        }
+        return List.copyOf(aliases);
+    }
+
+    private static final Set<String> NULLABLE_ANNOTATIONS = Set.of(
+            "org.jspecify.annotations.Nullable",
+            "javax.annotation.Nullable",
+            "jakarta.annotation.Nullable",
+            "org.jetbrains.annotations.Nullable",
+            "androidx.annotation.Nullable",
+            "edu.umd.cs.findbugs.annotations.Nullable");
+
+    private static final Set<String> NON_NULL_ANNOTATIONS = Set.of(
+            "org.jspecify.annotations.NonNull",
+            "javax.annotation.Nonnull",
+            "jakarta.annotation.Nonnull",
+            "org.jetbrains.annotations.NotNull",
+            "androidx.annotation.NonNull",
+            "edu.umd.cs.findbugs.annotations.NonNull",
+            "lombok.NonNull",
+            "jp.akimateras.jackson.NonNull");
+
+    private enum Nullability {
+        NULLABLE,
+        NON_NULL,
+        UNSPECIFIED
+    }
+
+    private Nullability effectiveNullability(Nullability nullability) {
+        if (nullability != Nullability.UNSPECIFIED) {
+            return nullability;
+        }
+        if (defaultNonNull) {
+            return Nullability.NON_NULL;
+        }
+        return Nullability.NULLABLE;
+    }
+
+    private Nullability effectiveNullability(Nullability nullability, boolean required) {
+        if (required) {
+            return Nullability.NON_NULL;
+        }
+        return effectiveNullability(nullability);
+    }
+
+    private static boolean isRequired(Parameter parameter) {
+        return isRequired(parameter.getAnnotation(JsonProperty.class));
+    }
+
+    private static boolean isRequired(Field field) {
+        return isRequired(field.getAnnotation(JsonProperty.class));
+    }
+
+    private static boolean isRequired(RecordComponent component) {
+        JsonProperty property = component.getAnnotation(JsonProperty.class);
+        return isRequired(property);
+    }
+
+    private static boolean isRequired(@Nullable JsonProperty property) {
+        return property != null && property.required();
+    }
+
+    private static boolean isRequired(@Nullable JsonProperty property, @Nullable JsonProperty parameterProperty) {
+        return isRequired(property) || isRequired(parameterProperty);
+    }
+
+    private static Nullability resolveNullability(RecordComponent component) {
+        Nullability nullability = resolveNullability((AnnotatedElement) component);
+        nullability = mergeNullability(nullability, resolveNullability(component.getAccessor()));
+        try {
+            Field field = component.getDeclaringRecord().getDeclaredField(component.getName());
+            nullability = mergeNullability(nullability, resolveNullability(field));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Missing record field for " + component.getName(), e);
+        }
+        return nullability;
+    }
+
+    private static Nullability resolveNullability(Parameter parameter) {
+        return resolveNullability((AnnotatedElement) parameter);
+    }
+
+    private static Nullability resolveNullability(Method method) {
+        return resolveNullability((AnnotatedElement) method);
+    }
+
+    private static Nullability resolveNullability(Field field) {
+        return resolveNullability((AnnotatedElement) field);
+    }
+
+    private static Nullability resolveNullability(AnnotatedElement element) {
+        if (hasAnnotation(element, NULLABLE_ANNOTATIONS)) {
+            return Nullability.NULLABLE;
+        }
+        if (hasAnnotation(element, NON_NULL_ANNOTATIONS)) {
+            return Nullability.NON_NULL;
+        }
+        return Nullability.UNSPECIFIED;
+    }
+
+    private static boolean hasAnnotation(AnnotatedElement element, Set<String> names) {
+        for (Annotation annotation : element.getAnnotations()) {
+            if (names.contains(annotation.annotationType().getName())) {
+                return true;
+            }
+        }
+        if (element instanceof Field field) {
+            return hasAnnotation(field.getAnnotatedType(), names);
+        }
+        if (element instanceof Parameter parameter) {
+            return hasAnnotation(parameter.getAnnotatedType(), names);
+        }
+        if (element instanceof RecordComponent component) {
+            return hasAnnotation(component.getAnnotatedType(), names);
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(AnnotatedType annotatedType, Set<String> names) {
+        for (Annotation annotation : annotatedType.getAnnotations()) {
+            if (names.contains(annotation.annotationType().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Nullability mergeNullability(Nullability first, Nullability second) {
+        if (first == Nullability.NULLABLE || second == Nullability.NULLABLE) {
+            return Nullability.NULLABLE;
+        }
+        if (first == Nullability.NON_NULL || second == Nullability.NON_NULL) {
+            return Nullability.NON_NULL;
+        }
+        return Nullability.UNSPECIFIED;
+    }
+
+    private record BuilderConfig(String buildMethodName, String withPrefix) {
+    }
+
+    private record BuilderInfo(Class<?> builderClass, @Nullable Method factoryMethod, Method buildMethod,
+            String withPrefix) {
+        String buildMethodName() {
+            return buildMethod.getName();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Decodes the elements of a large root-level array in chunks on an {@link Executor}.
+ * <p>
+ * Only the root container is split, so tasks never wait on other tasks of the same executor. Elements keep their
+ * order, and when several elements fail the error of the first one in document order is reported, as a sequential
+ * decode would. Elements after a failure are skipped.
+ */
+final class ParallelDecoder {
+    private static final int MIN_CHUNK_SIZE = 256;
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    private final NodeMapper nodeMapper;
+    private final StreamingMapper streamingMapper;
+    private final ContainerFactory containers;
+    private final int threshold;
+    private final Executor executor;
+
+    ParallelDecoder(NodeMapper nodeMapper, StreamingMapper streamingMapper, ContainerFactory containers, int threshold,
+            Executor executor) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        this.nodeMapper = nodeMapper;
+        this.streamingMapper = streamingMapper;
+        this.containers = containers;
+        this.threshold = threshold;
+        this.executor = executor;
+    }
+
+    @Nullable Object mapNode(@Nullable JsonNode node, JavaType targetType) throws IOException {
+        if (node == null || !node.isArray() || node.size() < threshold || !applies(targetType)) {
+            return nodeMapper.mapNode(node, targetType);
+        }
+        JavaType contentType = containers.contentType(targetType);
+        List<Object> values = decode(node.size(), index -> nodeMapper.mapNode(node.get(index), contentType));
+        return finish(values, targetType);
+    }
+
+    /**
+     * Reads a root-level array. The first {@code threshold} elements are bound sequentially straight from the input, so
+     * smaller arrays are read exactly as without this decoder; each further element is copied into its own
+     * {@link TokenBuffer}, and the buffered elements are bound in parallel at the end of the array.
+     */
+    @Nullable Object readValue(JsonParser parser, JavaType targetType) throws IOException {
+        if (!parser.hasCurrentToken() && parser.nextToken() == null) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY || !applies(targetType)) {
+            return streamingMapper.readValue(parser, targetType);
+        }
+        JavaType contentType = containers.contentType(targetType);
+        List<Object> values = new ArrayList<>();
+        List<TokenBuffer> elements = new ArrayList<>();
+        while (nextElement(parser, targetType)) {
+            if (values.size() < threshold) {
+                values.add(streamingMapper.readValue(parser, contentType));
+            } else {
+                TokenBuffer element = new TokenBuffer(parser);
+                element.copyCurrentStructure(parser);
+                elements.add(element);
+            }
+        }
+        if (!elements.isEmpty()) {
+            values.addAll(decode(elements.size(), index -> {
+                try (JsonParser elementParser = elements.get(index).asParser(parser)) {
+                    return streamingMapper.readValue(elementParser, contentType);
+                }
+            }));
+        }
+        return finish(values, targetType);
+    }
+
+    private static boolean nextElement(JsonParser parser, JavaType targetType) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new IOException("Unexpected end of input in array for " + targetType);
+        }
+        return token != JsonToken.END_ARRAY;
+    }
+
+    private boolean applies(JavaType targetType) {
+        if (!targetType.isArrayType() && !targetType.isCollectionLikeType()) {
+            return false;
+        }
+        return !containers.contentType(targetType).isPrimitive();
+    }
+
+    private Object finish(List<Object> values, JavaType targetType) throws IOException {
+        if (targetType.isArrayType()) {
+            return containers.finishArray(values, containers.contentType(targetType));
+        }
+        return containers.toCollection(values, targetType);
+    }
+
+    private List<Object> decode(int size, Element element) throws IOException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + processors * CHUNKS_PER_PROCESSOR - 1)
+                / (processors * CHUNKS_PER_PROCESSOR));
+        @Nullable Object[] values = new Object[size];
+        // Index of the first element known to fail; elements after it are skipped, earlier ones are still decoded so
+        // that an earlier failure is found.
+        AtomicInteger failedAt = new AtomicInteger(Integer.MAX_VALUE);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < size; start += chunkSize) {
+            int from = start;
+            int to = Math.min(size, start + chunkSize);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to && i < failedAt.get(); i++) {
+                    try {
+                        values[i] = element.decode(i);
+                    } catch (IOException e) {
+                        failedAt.accumulateAndGet(i, Math::min);
+                        throw new UncheckedIOException(e);
+                    } catch (RuntimeException | Error e) {
+                        failedAt.accumulateAndGet(i, Math::min);
+                        throw e;
+                    }
+                }
+            }, executor));
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            try {
+                chunks.get(i).join();
+            } catch (CompletionException e) {
+                for (CompletableFuture<Void> pending : chunks.subList(i + 1, chunks.size())) {
+                    pending.cancel(false);
+                }
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException unchecked) {
+                    throw unchecked.getCause();
+                }
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IOException("Parallel decoding failed", cause);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+    @FunctionalInterface
+    private interface Element {
+        @Nullable Object decode(int index) throws IOException;
+    }
+}
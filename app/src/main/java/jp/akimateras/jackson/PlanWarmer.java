@@ -0,0 +1,155 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.akimateras.jackson.DiscriminatorTypeResolver.DispatchTable;
+import jp.akimateras.jackson.ObjectPlan.BuilderPlan;
+import jp.akimateras.jackson.ObjectPlan.CreatorParameter;
+import jp.akimateras.jackson.ObjectPlan.CreatorPlan;
+import jp.akimateras.jackson.ObjectPlan.DelegatingPlan;
+import jp.akimateras.jackson.ObjectPlan.PropertyBinding;
+
+/**
+ * Walks the type graph reachable from one or more root types and compiles every dispatch table and object plan on
+ * the way, so the first read does not pay for them.
+ * <p>
+ * Types that fail to plan are skipped and listed in the result; the failure is reported again when such a type is
+ * actually read.
+ */
+final class PlanWarmer {
+    private final ObjectMapper mapper;
+    private final DiscriminatorTypeResolver typeResolver;
+    private final ObjectPlanner planner;
+
+    PlanWarmer(ObjectMapper mapper, DiscriminatorTypeResolver typeResolver, ObjectPlanner planner) {
+        this.mapper = mapper;
+        this.typeResolver = typeResolver;
+        this.planner = planner;
+    }
+
+    /**
+     * What a walk compiled.
+     *
+     * @param typeCount number of distinct types visited, including container and leaf types
+     * @param planCount number of object plans compiled by this walk, not counting plans that were already cached
+     * @param dispatchTableCount number of dispatch tables built by this walk, not counting cached ones
+     * @param failures types that could not be compiled, in the order they were reached
+     */
+    record Result(int typeCount, int planCount, int dispatchTableCount, List<PrecompileReport.Failure> failures) {
+    }
+
+    /**
+     * Compiles everything reachable from {@code root}.
+     */
+    Result warm(JavaType root) {
+        return warm(List.of(root));
+    }
+
+    /**
+     * Compiles everything reachable from any of {@code roots}.
+     */
+    Result warm(Collection<JavaType> roots) {
+        Walk walk = new Walk();
+        Set<JavaType> visited = new HashSet<>();
+        Deque<JavaType> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            JavaType type = pending.removeFirst();
+            if (!visited.add(type)) {
+                continue;
+            }
+            if (type.isContainerType()) {
+                JavaType keyType = type.getKeyType();
+                if (keyType != null) {
+                    pending.add(keyType);
+                }
+                JavaType contentType = type.getContentType();
+                if (contentType != null) {
+                    pending.add(contentType);
+                }
+                continue;
+            }
+            try {
+                visit(type, pending, walk);
+            } catch (IOException e) {
+                walk.failures.add(new PrecompileReport.Failure(type, String.valueOf(e.getMessage())));
+            }
+        }
+        return new Result(visited.size(), walk.planCount, walk.dispatchTableCount, List.copyOf(walk.failures));
+    }
+
+    private void visit(JavaType type, Deque<JavaType> pending, Walk walk) throws IOException {
+        Class<?> raw = type.getRawClass();
+        if (isLeaf(raw)) {
+            return;
+        }
+        if (PrimitiveMaps.isPrimitiveMap(raw)) {
+            pending.add(PrimitiveMaps.valueType(type));
+            return;
+        }
+        if (typeResolver.needsTypeResolution(raw)) {
+            if (!typeResolver.hasTypeInfo(raw)) {
+                return;
+            }
+            boolean cached = typeResolver.isCached(raw);
+            DispatchTable table = typeResolver.dispatchTable(raw);
+            if (!cached) {
+                walk.dispatchTableCount++;
+            }
+            for (Class<?> subtype : table.subtypes().values()) {
+                pending.add(mapper.getTypeFactory().constructType(subtype));
+            }
+            Class<?> defaultImpl = table.defaultImpl();
+            if (defaultImpl != null) {
+                pending.add(mapper.getTypeFactory().constructType(defaultImpl));
+            }
+            if (typeResolver.isAbstractOrInterface(raw)) {
+                return;
+            }
+        }
+        boolean cached = planner.isCached(type);
+        ObjectPlan plan = planner.plan(type);
+        if (!cached) {
+            walk.planCount++;
+        }
+        if (plan instanceof CreatorPlan creator) {
+            for (CreatorParameter parameter : creator.parameters()) {
+                pending.add(parameter.type());
+            }
+            addBindings(creator.properties(), pending);
+        } else if (plan instanceof BuilderPlan builder) {
+            addBindings(builder.builderBindings(), pending);
+            addBindings(builder.properties(), pending);
+        } else if (plan instanceof DelegatingPlan delegating) {
+            pending.add(delegating.parameter().type());
+        }
+    }
+
+    private static final class Walk {
+        private int planCount;
+        private int dispatchTableCount;
+        private final List<PrecompileReport.Failure> failures = new ArrayList<>();
+    }
+
+    private static void addBindings(Iterable<PropertyBinding> bindings, Deque<JavaType> pending) {
+        for (PropertyBinding binding : bindings) {
+            pending.add(binding.type());
+        }
+    }
+
+    /** Types bound by the underlying {@code ObjectMapper} without a plan of their own. */
+    private static boolean isLeaf(Class<?> raw) {
+        return raw.isPrimitive() || raw.isEnum() || raw == Object.class || JsonNode.class.isAssignableFrom(raw)
+                || raw.getName().startsWith("java.");
+    }
+}
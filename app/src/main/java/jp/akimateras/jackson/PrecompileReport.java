@@ -0,0 +1,27 @@
+package jp.akimateras.jackson;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+/**
+ * Result of {@link MultiDiscriminatorObjectMapper#precompile(Class...)}.
+ *
+ * @param typeCount number of distinct types reached from the roots, including container and leaf types
+ * @param planCount number of object plans compiled by this call, not counting plans compiled earlier
+ * @param dispatchTableCount number of dispatch tables, one per union level, built by this call and not earlier
+ * @param failures types that could not be compiled; reading such a type reports the same error
+ * @param elapsed time spent walking the type graph and compiling plans and dispatch tables
+ */
+public record PrecompileReport(int typeCount, int planCount, int dispatchTableCount, List<Failure> failures,
+        Duration elapsed) {
+    /**
+     * A type whose plan or dispatch table could not be compiled.
+     *
+     * @param type the type that failed
+     * @param message the message of the error
+     */
+    public record Failure(JavaType type, String message) {
+    }
+}
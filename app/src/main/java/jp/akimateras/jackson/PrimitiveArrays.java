@@ -0,0 +1,256 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+/**
+ * Primitive array binding without boxing, for both {@link NodeMapper} and {@link StreamingMapper}.
+ * <p>
+ * Elements whose node or token type maps directly onto the component type are stored as they are read; anything else
+ * (nulls, strings, out-of-range numbers) is handed to the caller's element reader so the usual coercion and error
+ * rules still apply. {@code byte[]} also accepts base64 text and {@code char[]} accepts a string.
+ */
+final class PrimitiveArrays {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private PrimitiveArrays() {
+    }
+
+    /** Maps one element that the fast path does not handle; never returns {@code null}. */
+    @FunctionalInterface
+    interface NodeElements {
+        Object map(JsonNode element) throws IOException;
+    }
+
+    /** Reads the element at the current token that the fast path does not handle; never returns {@code null}. */
+    @FunctionalInterface
+    interface TokenElements {
+        Object read() throws IOException;
+    }
+
+    static Object map(JsonNode node, Class<?> component, Base64Variant variant, NodeElements slow)
+            throws IOException {
+        if (!node.isArray()) {
+            if (component == byte.class && node.isBinary()) {
+                return node.binaryValue();
+            }
+            if (component == byte.class && node instanceof TextNode text) {
+                return text.getBinaryValue(variant);
+            }
+            if (component == char.class && node.isTextual()) {
+                return node.textValue().toCharArray();
+            }
+            throw new IOException("Expected array for " + component.getName() + "[]");
+        }
+        int size = node.size();
+        if (component == int.class) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode element = node.get(i);
+                values[i] = element.isInt() ? element.intValue() : (Integer) slow.map(element);
+            }
+            return values;
+        }
+        if (component == long.class) {
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode element = node.get(i);
+                values[i] = element.isInt() || element.isLong() ? element.longValue() : (Long) slow.map(element);
+            }
+            return values;
+        }
+        if (component == float.class) {
+            float[] values = new float[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode element = node.get(i);
+                values[i] = element.isNumber() ? element.floatValue() : (Float) slow.map(element);
+            }
+            return values;
+        }
+        if (component == double.class) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode element = node.get(i);
+                values[i] = element.isNumber() ? element.doubleValue() : (Double) slow.map(element);
+            }
+            return values;
+        }
+        if (component == short.class) {
+            short[] values = new short[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode element = node.get(i);
+                values[i] = element.isInt() && isShort(element.intValue()) ? (short) element.intValue()
+                        : (Short) slow.map(element);
+            }
+            return values;
+        }
+        if (component == byte.class) {
+            byte[] values = new byte[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode element = node.get(i);
+                values[i] = element.isInt() && isByte(element.intValue()) ? (byte) element.intValue()
+                        : (Byte) slow.map(element);
+            }
+            return values;
+        }
+        if (component == char.class) {
+            char[] values = new char[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode element = node.get(i);
+                values[i] = element.isTextual() && element.textValue().length() == 1 ? element.textValue().charAt(0)
+                        : (Character) slow.map(element);
+            }
+            return values;
+        }
+        if (component == boolean.class) {
+            boolean[] values = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode element = node.get(i);
+                values[i] = element.isBoolean() ? element.booleanValue() : (Boolean) slow.map(element);
+            }
+            return values;
+        }
+        throw new IllegalArgumentException("Not a primitive component type: " + component);
+    }
+
+    static Object read(JsonParser p, Class<?> component, Base64Variant variant, TokenElements slow)
+            throws IOException {
+        JsonToken token = p.currentToken();
+        if (token != JsonToken.START_ARRAY) {
+            if (component == byte.class && token == JsonToken.VALUE_STRING) {
+                return p.getBinaryValue(variant);
+            }
+            if (component == byte.class && token == JsonToken.VALUE_EMBEDDED_OBJECT
+                    && p.getEmbeddedObject() instanceof byte[] bytes) {
+                return bytes;
+            }
+            if (component == char.class && token == JsonToken.VALUE_STRING) {
+                int offset = p.getTextOffset();
+                return Arrays.copyOfRange(p.getTextCharacters(), offset, offset + p.getTextLength());
+            }
+            throw new IOException("Expected array for " + component.getName() + "[]");
+        }
+        if (component == int.class) {
+            int[] values = new int[INITIAL_CAPACITY];
+            int size = 0;
+            while ((token = next(p)) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() == NumberType.INT
+                        ? p.getIntValue() : (Integer) slow.read();
+            }
+            return Arrays.copyOf(values, size);
+        }
+        if (component == long.class) {
+            long[] values = new long[INITIAL_CAPACITY];
+            int size = 0;
+            while ((token = next(p)) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() != NumberType.BIG_INTEGER
+                        ? p.getLongValue() : (Long) slow.read();
+            }
+            return Arrays.copyOf(values, size);
+        }
+        if (component == float.class) {
+            float[] values = new float[INITIAL_CAPACITY];
+            int size = 0;
+            while ((token = next(p)) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = token.isNumeric() ? p.getFloatValue() : (Float) slow.read();
+            }
+            return Arrays.copyOf(values, size);
+        }
+        if (component == double.class) {
+            double[] values = new double[INITIAL_CAPACITY];
+            int size = 0;
+            while ((token = next(p)) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = token.isNumeric() ? p.getDoubleValue() : (Double) slow.read();
+            }
+            return Arrays.copyOf(values, size);
+        }
+        if (component == short.class) {
+            short[] values = new short[INITIAL_CAPACITY];
+            int size = 0;
+            while ((token = next(p)) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = isIntToken(p, token) && isShort(p.getIntValue()) ? (short) p.getIntValue()
+                        : (Short) slow.read();
+            }
+            return Arrays.copyOf(values, size);
+        }
+        if (component == byte.class) {
+            byte[] values = new byte[INITIAL_CAPACITY];
+            int size = 0;
+            while ((token = next(p)) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = isIntToken(p, token) && isByte(p.getIntValue()) ? (byte) p.getIntValue()
+                        : (Byte) slow.read();
+            }
+            return Arrays.copyOf(values, size);
+        }
+        if (component == char.class) {
+            char[] values = new char[INITIAL_CAPACITY];
+            int size = 0;
+            while ((token = next(p)) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = token == JsonToken.VALUE_STRING && p.getTextLength() == 1
+                        ? p.getTextCharacters()[p.getTextOffset()] : (Character) slow.read();
+            }
+            return Arrays.copyOf(values, size);
+        }
+        if (component == boolean.class) {
+            boolean[] values = new boolean[INITIAL_CAPACITY];
+            int size = 0;
+            while ((token = next(p)) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = token.isBoolean() ? token == JsonToken.VALUE_TRUE : (Boolean) slow.read();
+            }
+            return Arrays.copyOf(values, size);
+        }
+        throw new IllegalArgumentException("Not a primitive component type: " + component);
+    }
+
+    private static JsonToken next(JsonParser p) throws IOException {
+        JsonToken token = p.nextToken();
+        if (token == null) {
+            throw new IOException("Unexpected end of input in array");
+        }
+        return token;
+    }
+
+    private static boolean isIntToken(JsonParser p, JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() == NumberType.INT;
+    }
+
+    static boolean isShort(int value) {
+        return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE;
+    }
+
+    /** Jackson accepts unsigned byte values as well, so {@code 255} maps to {@code -1}. */
+    static boolean isByte(int value) {
+        return value >= Byte.MIN_VALUE && value <= 255;
+    }
+}
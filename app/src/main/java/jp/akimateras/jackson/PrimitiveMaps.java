@@ -0,0 +1,179 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * Binding of the primitive-keyed maps {@link IntObjectMap}, {@link LongObjectMap}, {@link IntFloatMap} and
+ * {@link LongDoubleMap}, for both {@link NodeMapper} and {@link StreamingMapper}.
+ * <p>
+ * Keys are parsed from the property names without boxing. Primitive values whose node or token type maps directly onto
+ * the value type are stored as they are read; other values (nulls, strings) and the values of the object-valued maps
+ * are handed to the caller's value reader, so the usual coercion and error rules still apply.
+ */
+final class PrimitiveMaps {
+    private static final JavaType FLOAT = TypeFactory.defaultInstance().constructType(float.class);
+    private static final JavaType DOUBLE = TypeFactory.defaultInstance().constructType(double.class);
+
+    private PrimitiveMaps() {
+    }
+
+    /** Maps one value of type {@code type} that the fast path does not handle. */
+    @FunctionalInterface
+    interface NodeValues {
+        @Nullable Object map(JsonNode value, JavaType type) throws IOException;
+    }
+
+    /** Reads the value of type {@code type} at the current token that the fast path does not handle. */
+    @FunctionalInterface
+    interface TokenValues {
+        @Nullable Object read(JavaType type) throws IOException;
+    }
+
+    static boolean isPrimitiveMap(Class<?> raw) {
+        return raw == IntObjectMap.class || raw == LongObjectMap.class || raw == IntFloatMap.class
+                || raw == LongDoubleMap.class;
+    }
+
+    /** The value type of an object-valued map type. */
+    static JavaType valueType(JavaType mapType) {
+        return mapType.containedTypeOrUnknown(0);
+    }
+
+    static Object map(JsonNode node, JavaType targetType, Set<String> excluded, NodeValues slow) throws IOException {
+        if (!node.isObject()) {
+            throw new IOException("Expected object for " + targetType);
+        }
+        Class<?> raw = targetType.getRawClass();
+        if (raw == IntFloatMap.class) {
+            IntFloatMap map = new IntFloatMap(node.size());
+            for (Map.Entry<String, JsonNode> entry : node.properties()) {
+                if (!excluded.contains(entry.getKey())) {
+                    JsonNode value = entry.getValue();
+                    map.put(intKey(entry.getKey()), value.isNumber() ? value.floatValue()
+                            : (Float) NodeMapper.requirePrimitive(slow.map(value, FLOAT), FLOAT));
+                }
+            }
+            return map;
+        }
+        if (raw == LongDoubleMap.class) {
+            LongDoubleMap map = new LongDoubleMap(node.size());
+            for (Map.Entry<String, JsonNode> entry : node.properties()) {
+                if (!excluded.contains(entry.getKey())) {
+                    JsonNode value = entry.getValue();
+                    map.put(longKey(entry.getKey()), value.isNumber() ? value.doubleValue()
+                            : (Double) NodeMapper.requirePrimitive(slow.map(value, DOUBLE), DOUBLE));
+                }
+            }
+            return map;
+        }
+        JavaType valueType = valueType(targetType);
+        if (raw == IntObjectMap.class) {
+            IntObjectMap<Object> map = new IntObjectMap<>(node.size());
+            for (Map.Entry<String, JsonNode> entry : node.properties()) {
+                if (!excluded.contains(entry.getKey())) {
+                    map.put(intKey(entry.getKey()), slow.map(entry.getValue(), valueType));
+                }
+            }
+            return map;
+        }
+        if (raw == LongObjectMap.class) {
+            LongObjectMap<Object> map = new LongObjectMap<>(node.size());
+            for (Map.Entry<String, JsonNode> entry : node.properties()) {
+                if (!excluded.contains(entry.getKey())) {
+                    map.put(longKey(entry.getKey()), slow.map(entry.getValue(), valueType));
+                }
+            }
+            return map;
+        }
+        throw new IllegalArgumentException("Not a primitive map type: " + targetType);
+    }
+
+    static Object read(JsonParser p, JavaType targetType, Set<String> excluded, TokenValues slow) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected object for " + targetType);
+        }
+        Class<?> raw = targetType.getRawClass();
+        if (raw == IntFloatMap.class) {
+            IntFloatMap map = new IntFloatMap();
+            while (StreamingMapper.nextField(p)) {
+                String name = p.currentName();
+                JsonToken token = p.nextToken();
+                if (excluded.contains(name)) {
+                    p.skipChildren();
+                    continue;
+                }
+                map.put(intKey(name), token.isNumeric() ? p.getFloatValue()
+                        : (Float) NodeMapper.requirePrimitive(slow.read(FLOAT), FLOAT));
+            }
+            return map;
+        }
+        if (raw == LongDoubleMap.class) {
+            LongDoubleMap map = new LongDoubleMap();
+            while (StreamingMapper.nextField(p)) {
+                String name = p.currentName();
+                JsonToken token = p.nextToken();
+                if (excluded.contains(name)) {
+                    p.skipChildren();
+                    continue;
+                }
+                map.put(longKey(name), token.isNumeric() ? p.getDoubleValue()
+                        : (Double) NodeMapper.requirePrimitive(slow.read(DOUBLE), DOUBLE));
+            }
+            return map;
+        }
+        JavaType valueType = valueType(targetType);
+        if (raw == IntObjectMap.class) {
+            IntObjectMap<Object> map = new IntObjectMap<>();
+            while (StreamingMapper.nextField(p)) {
+                String name = p.currentName();
+                p.nextToken();
+                if (excluded.contains(name)) {
+                    p.skipChildren();
+                    continue;
+                }
+                map.put(intKey(name), slow.read(valueType));
+            }
+            return map;
+        }
+        if (raw == LongObjectMap.class) {
+            LongObjectMap<Object> map = new LongObjectMap<>();
+            while (StreamingMapper.nextField(p)) {
+                String name = p.currentName();
+                p.nextToken();
+                if (excluded.contains(name)) {
+                    p.skipChildren();
+                    continue;
+                }
+                map.put(longKey(name), slow.read(valueType));
+            }
+            return map;
+        }
+        throw new IllegalArgumentException("Not a primitive map type: " + targetType);
+    }
+
+    private static int intKey(String name) throws IOException {
+        try {
+            return Integer.parseInt(name);
+        } catch (NumberFormatException e) {
+            throw new IOException("Unable to map key '" + name + "' to int", e);
+        }
+    }
+
+    private static long longKey(String name) throws IOException {
+        try {
+            return Long.parseLong(name);
+        } catch (NumberFormatException e) {
+            throw new IOException("Unable to map key '" + name + "' to long", e);
+        }
+    }
+}
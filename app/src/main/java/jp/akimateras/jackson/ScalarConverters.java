@@ -0,0 +1,250 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.CoercionAction;
+import com.fasterxml.jackson.databind.cfg.CoercionInputShape;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.UUIDDeserializer;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+/**
+ * Scalar binding for {@link NodeMapper} that reads value nodes directly instead of through
+ * {@code ObjectMapper.treeToValue}.
+ * <p>
+ * Converters are resolved once per class, and only when the {@code ObjectMapper} would use its standard deserializer
+ * for that class. Each converter handles the node types whose result does not depend on coercion settings, such as an
+ * integral node for {@code int} or a textual node for {@code String}, and passes every other node to
+ * {@code treeToValue}, so coercions, custom formats and error messages are those of the {@code ObjectMapper}. Enum
+ * names are looked up in a table of the names, serialized names and aliases that the {@code ObjectMapper} maps to each
+ * constant; unknown names, including those resolved to a {@code @JsonEnumDefaultValue}, go to {@code treeToValue}.
+ */
+final class ScalarConverters {
+    private static final String JAVA_TIME_DESERIALIZERS = "com.fasterxml.jackson.datatype.jsr310.";
+
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ScalarConverter> converters = new ConcurrentHashMap<>();
+
+    ScalarConverters(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @FunctionalInterface
+    interface ScalarConverter {
+        Object convert(JsonNode node) throws IOException;
+    }
+
+    /** Returns the cached converter for value nodes bound to {@code raw}. */
+    ScalarConverter converter(Class<?> raw) {
+        ScalarConverter converter = converters.get(raw);
+        if (converter == null) {
+            converter = create(raw);
+            converters.put(raw, converter);
+        }
+        return converter;
+    }
+
+    private ScalarConverter create(Class<?> raw) {
+        ScalarConverter fallback = node -> mapper.treeToValue(node, raw);
+        JsonDeserializer<?> deserializer = deserializer(raw);
+        if (deserializer == null) {
+            return fallback;
+        }
+        if (raw.isEnum()) {
+            return ClassUtil.isJacksonStdImpl(deserializer) ? enumTable(raw, fallback) : fallback;
+        }
+        if (deserializer.getClass() == UUIDDeserializer.class) {
+            return textual(ScalarConverters::parseUuid, fallback);
+        }
+        if (deserializer.getClass().getName().startsWith(JAVA_TIME_DESERIALIZERS)) {
+            return javaTime(raw, fallback);
+        }
+        if (!ClassUtil.isJacksonStdImpl(deserializer)) {
+            return fallback;
+        }
+        return standard(raw, fallback);
+    }
+
+    private @Nullable JsonDeserializer<?> deserializer(Class<?> raw) {
+        DeserializationConfig config = mapper.getDeserializationConfig();
+        try {
+            return ((DefaultDeserializationContext) mapper.getDeserializationContext()).createDummyInstance(config)
+                    .findRootValueDeserializer(mapper.constructType(raw));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private ScalarConverter standard(Class<?> raw, ScalarConverter fallback) {
+        if (raw == String.class) {
+            return node -> node.isTextual() ? node.textValue() : fallback.convert(node);
+        }
+        if (raw == Integer.class || raw == int.class) {
+            return node -> node.isInt() ? node.intValue() : fallback.convert(node);
+        }
+        if (raw == Long.class || raw == long.class) {
+            return node -> node.isInt() || node.isLong() ? node.longValue() : fallback.convert(node);
+        }
+        if (raw == Short.class || raw == short.class) {
+            return node -> node.isInt() && PrimitiveArrays.isShort(node.intValue()) ? (short) node.intValue()
+                    : fallback.convert(node);
+        }
+        if (raw == Byte.class || raw == byte.class) {
+            return node -> node.isInt() && PrimitiveArrays.isByte(node.intValue()) ? (byte) node.intValue()
+                    : fallback.convert(node);
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return node -> node.isBoolean() ? node.booleanValue() : fallback.convert(node);
+        }
+        if (raw == Character.class || raw == char.class) {
+            return node -> node.isTextual() && node.textValue().length() == 1 ? node.textValue().charAt(0)
+                    : fallback.convert(node);
+        }
+        boolean fromInt = acceptsIntegers(raw);
+        if (raw == Double.class || raw == double.class) {
+            return node -> isFloating(node, fromInt) ? node.doubleValue() : fallback.convert(node);
+        }
+        if (raw == Float.class || raw == float.class) {
+            return node -> isFloating(node, fromInt) ? node.floatValue() : fallback.convert(node);
+        }
+        if (raw == BigDecimal.class) {
+            return node -> isFloating(node, fromInt) && isFinite(node) ? node.decimalValue() : fallback.convert(node);
+        }
+        if (raw == BigInteger.class) {
+            return node -> node.isIntegralNumber() ? node.bigIntegerValue() : fallback.convert(node);
+        }
+        return fallback;
+    }
+
+    /** Whether integral numbers are converted to the floating-point type {@code raw} without further checks. */
+    private boolean acceptsIntegers(Class<?> raw) {
+        return mapper.getDeserializationConfig().findCoercionAction(LogicalType.Float, raw,
+                CoercionInputShape.Integer) == CoercionAction.TryConvert;
+    }
+
+    private static boolean isFloating(JsonNode node, boolean fromInt) {
+        return node.isFloatingPointNumber() || (fromInt && node.isIntegralNumber());
+    }
+
+    private static boolean isFinite(JsonNode node) {
+        return (!node.isDouble() && !node.isFloat()) || Double.isFinite(node.doubleValue());
+    }
+
+    /**
+     * java.time values in their ISO-8601 text form, bound only while no configured format overrides the module's
+     * default one.
+     */
+    private ScalarConverter javaTime(Class<?> raw, ScalarConverter fallback) {
+        JsonFormat.Value format = mapper.getDeserializationConfig().getDefaultPropertyFormat(raw);
+        if (!format.equals(JsonFormat.Value.empty())) {
+            return fallback;
+        }
+        if (raw == LocalDate.class) {
+            return textual(LocalDate::parse, fallback);
+        }
+        if (raw == LocalTime.class) {
+            return textual(LocalTime::parse, fallback);
+        }
+        if (raw == LocalDateTime.class) {
+            return textual(LocalDateTime::parse, fallback);
+        }
+        if (raw == Instant.class) {
+            return textual(Instant::parse, fallback);
+        }
+        return fallback;
+    }
+
+    /**
+     * Parses the canonical 36-character form only; {@code UUID.fromString} also accepts shorter groups, which Jackson
+     * rejects, and other forms such as Base64 are left to Jackson.
+     */
+    private static UUID parseUuid(String text) {
+        if (text.length() != 36 || text.charAt(8) != '-' || text.charAt(13) != '-' || text.charAt(18) != '-'
+                || text.charAt(23) != '-') {
+            throw new IllegalArgumentException("Not a canonical UUID: " + text);
+        }
+        return UUID.fromString(text);
+    }
+
+    /** Parses textual nodes with {@code parser}, leaving other nodes and text it rejects to {@code fallback}. */
+    private static ScalarConverter textual(Function<String, Object> parser, ScalarConverter fallback) {
+        return node -> {
+            if (node.isTextual()) {
+                try {
+                    return parser.apply(node.textValue());
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    // Reported by the fallback.
+                }
+            }
+            return fallback.convert(node);
+        };
+    }
+
+    private ScalarConverter enumTable(Class<?> enumType, ScalarConverter fallback) {
+        Map<String, Object> table = new HashMap<>();
+        for (Object constant : enumType.getEnumConstants()) {
+            for (String name : candidateNames(enumType, (Enum<?>) constant)) {
+                try {
+                    if (!table.containsKey(name) && fallback.convert(TextNode.valueOf(name)) == constant) {
+                        table.put(name, constant);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Not accepted by the enum deserializer.
+                }
+            }
+        }
+        Map<String, Object> names = Map.copyOf(table);
+        return node -> {
+            Object constant = node.isTextual() ? names.get(node.textValue()) : null;
+            return constant != null ? constant : fallback.convert(node);
+        };
+    }
+
+    private Set<String> candidateNames(Class<?> enumType, Enum<?> constant) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(constant.name());
+        names.add(constant.toString());
+        try {
+            if (mapper.convertValue(constant, Object.class) instanceof String serialized) {
+                names.add(serialized);
+            }
+        } catch (IllegalArgumentException e) {
+            // Only the declared names are used.
+        }
+        try {
+            Field field = enumType.getField(constant.name());
+            JsonAlias alias = field.getAnnotation(JsonAlias.class);
+            if (alias != null) {
+                names.addAll(Set.of(alias.value()));
+            }
+        } catch (NoSuchFieldException e) {
+            // Only the declared names are used.
+        }
+        return names;
+    }
+}
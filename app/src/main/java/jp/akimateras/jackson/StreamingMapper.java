@@ -0,0 +1,692 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.LRUMap;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import jp.akimateras.jackson.DiscriminatorTypeResolver.DispatchTable;
+import jp.akimateras.jackson.KeyConverters.KeyConverter;
+import jp.akimateras.jackson.ObjectPlan.BuilderPlan;
+import jp.akimateras.jackson.ObjectPlan.CreatorParameter;
+import jp.akimateras.jackson.ObjectPlan.CreatorPlan;
+import jp.akimateras.jackson.ObjectPlan.DelegatingPlan;
+import jp.akimateras.jackson.ObjectPlan.FallbackPlan;
+import jp.akimateras.jackson.ObjectPlan.PropertyBinding;
+import jp.akimateras.jackson.ObjectPlan.PropertyIndex;
+import jp.akimateras.jackson.ObjectPlan.Slot;
+
+/**
+ * Token-streaming counterpart of {@link NodeMapper}: binds values straight from a {@link JsonParser} without
+ * materializing a {@link JsonNode} tree.
+ * <p>
+ * For unions only the prefix of the object up to the discriminator is copied into a {@link TokenBuffer}; the buffered
+ * tokens are then replayed in front of the remaining input. When every discriminator is hidden and comes first, nothing
+ * needs to be buffered and the concrete type is bound straight from the input. Every read starts with the parser on the
+ * first token of the value and leaves it on the last token of that value.
+ */
+final class StreamingMapper {
+    private static final int MAX_READERS = 2000;
+
+    private final ObjectMapper mapper;
+    private final DiscriminatorTypeResolver typeResolver;
+    private final ObjectPlanner planner;
+    private final ContainerFactory containers;
+    private final LRUMap<JavaType, ObjectReader> readers = new LRUMap<>(16, MAX_READERS);
+    private final LongAdder unionReads = new LongAdder();
+    private final LongAdder bufferedUnionReads = new LongAdder();
+
+    StreamingMapper(ObjectMapper mapper, DiscriminatorTypeResolver typeResolver, ObjectPlanner planner,
+            ContainerFactory containers) {
+        this.mapper = mapper;
+        this.typeResolver = typeResolver;
+        this.planner = planner;
+        this.containers = containers;
+    }
+
+    /** Number of unions read so far. */
+    long unionReadCount() {
+        return unionReads.sum();
+    }
+
+    /** Number of unions whose fields had to be buffered and replayed because a discriminator was not leading. */
+    long bufferedUnionReadCount() {
+        return bufferedUnionReads.sum();
+    }
+
+    /**
+     * Reads the next value of {@code parser}, or returns {@code null} if the input has no content.
+     */
+    @Nullable Object readValue(JsonParser parser, JavaType targetType) throws IOException {
+        if (!parser.hasCurrentToken() && parser.nextToken() == null) {
+            return null;
+        }
+        return readValue(parser, targetType, Set.of());
+    }
+
+    private @Nullable Object readValue(JsonParser p, JavaType targetType, Set<String> excluded) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            if (targetType.getRawClass().isPrimitive()) {
+                throw new IOException("Missing value for primitive " + targetType);
+            }
+            return null;
+        }
+
+        Class<?> raw = targetType.getRawClass();
+        if (JsonNode.class.isAssignableFrom(raw)) {
+            return readLeaf(p, targetType, excluded);
+        }
+
+        if (PrimitiveMaps.isPrimitiveMap(raw)) {
+            return PrimitiveMaps.read(p, targetType, excluded, type -> readValue(p, type, Set.of()));
+        }
+        if (targetType.isMapLikeType()) {
+            return readMap(p, targetType, excluded);
+        }
+        if (targetType.isArrayType()) {
+            return readArray(p, targetType);
+        }
+        if (targetType.isCollectionLikeType()) {
+            return readCollection(p, targetType);
+        }
+
+        if (typeResolver.needsTypeResolution(raw)) {
+            return readUnion(p, targetType, excluded);
+        }
+        return readConcrete(p, targetType, excluded);
+    }
+
+    private Object readConcrete(JsonParser p, JavaType targetType, Set<String> excluded) throws IOException {
+        Class<?> raw = targetType.getRawClass();
+        if (raw.isRecord() || (raw != Object.class && p.currentToken() == JsonToken.START_OBJECT)) {
+            return readObject(p, planner.plan(targetType), excluded);
+        }
+        return readLeaf(p, targetType, excluded);
+    }
+
+    private Object readMap(JsonParser p, JavaType targetType, Set<String> excluded) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected object for " + targetType);
+        }
+        KeyConverter keys = containers.keyConverter(containers.keyType(targetType));
+        JavaType valueType = containers.contentType(targetType);
+        Map<Object, Object> values = containers.newMap(targetType, 0);
+        while (nextField(p)) {
+            String name = p.currentName();
+            p.nextToken();
+            if (excluded.contains(name)) {
+                p.skipChildren();
+                continue;
+            }
+            Object key = keys.convert(name);
+            ContainerFactory.put(values, key, readValue(p, valueType, Set.of()), targetType);
+        }
+        return containers.finishMap(values, targetType);
+    }
+
+    private Object readCollection(JsonParser p, JavaType targetType) throws IOException {
+        Collection<Object> values = containers.newCollection(targetType, 0);
+        readElements(p, targetType, values);
+        return containers.finishCollection(values, targetType);
+    }
+
+    private Object readArray(JsonParser p, JavaType targetType) throws IOException {
+        JavaType componentType = containers.contentType(targetType);
+        if (componentType.isPrimitive()) {
+            return PrimitiveArrays.read(p, componentType.getRawClass(), containers.base64Variant(),
+                    () -> NodeMapper.requirePrimitive(readValue(p, componentType, Set.of()), componentType));
+        }
+        List<Object> values = new ArrayList<>();
+        readElements(p, targetType, values);
+        return containers.finishArray(values, containers.contentType(targetType));
+    }
+
+    private void readElements(JsonParser p, JavaType targetType, Collection<Object> values) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected array for " + targetType);
+        }
+        JavaType contentType = containers.contentType(targetType);
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of input in array for " + targetType);
+            }
+            ContainerFactory.add(values, readValue(p, contentType, Set.of()), targetType);
+        }
+    }
+
+    /**
+     * Resolves every discriminator level of a union and binds the concrete type.
+     * <p>
+     * Fields are copied into a buffer until the discriminator of the current level is found. The values of the
+     * discriminators of deeper levels are also remembered by text on the way, so a later level whose discriminator
+     * was already passed is resolved without rescanning. Stripped discriminators are not copied at all, so when they
+     * are the leading fields the buffer stays empty and the concrete object is bound from the input directly.
+     * <p>
+     * A discriminator that is used to resolve a level must occur only once in the object: the scan stops at its first
+     * occurrence, while a {@link JsonNode} tree would keep the last one, so a repeated discriminator is rejected
+     * rather than resolved differently from the tree.
+     */
+    private @Nullable Object readUnion(JsonParser p, JavaType targetType, Set<String> excluded) throws IOException {
+        Class<?> raw = targetType.getRawClass();
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected object for type " + raw.getName());
+        }
+        UnionScan scan = new UnionScan(p);
+        Set<String> hidden = excluded;
+        Class<?> current = raw;
+        p.nextToken();
+        while (typeResolver.needsTypeResolution(current)) {
+            DispatchTable table = typeResolver.dispatchTable(current);
+            DeductionIndex deduction = table.deduction();
+            Class<?> resolved;
+            if (deduction != null) {
+                resolved = deduce(p, scan, excluded, current, table, deduction);
+            } else {
+                String property = table.property();
+                String typeId = null;
+                if (!excluded.contains(property)) {
+                    typeId = scan.remembers(property)
+                            ? scan.value(property)
+                            : scanForDiscriminator(p, scan, excluded, table);
+                    scan.resolve(property);
+                }
+                resolved = typeResolver.resolveTypeId(current, table, typeId);
+                if (table.strip()) {
+                    hidden = NodeMapper.merge(hidden, Set.of(property));
+                }
+            }
+            if (resolved == current) {
+                break;
+            }
+            current = resolved;
+        }
+
+        unionReads.increment();
+        JavaType concreteType = current == raw ? targetType : mapper.getTypeFactory().constructType(current);
+        if (!scan.buffered() && isObjectType(concreteType)) {
+            ObjectPlan plan = planner.plan(concreteType);
+            if (plan instanceof CreatorPlan || plan instanceof BuilderPlan) {
+                return readFields(p, plan, hidden, true, scan.resolved());
+            }
+        }
+        bufferedUnionReads.increment();
+        JsonParser replay = new ReplayParser(scan.buffer().asParser(p), p, scan.resolved());
+        replay.nextToken();
+        if (typeResolver.needsTypeResolution(current)) {
+            return readConcrete(replay, concreteType, hidden);
+        }
+        return readValue(replay, concreteType, hidden);
+    }
+
+    /**
+     * Whether {@code type} is bound through an object plan when the input is an object.
+     */
+    private static boolean isObjectType(JavaType type) {
+        Class<?> raw = type.getRawClass();
+        return !type.isContainerType() && raw != Object.class && !JsonNode.class.isAssignableFrom(raw);
+    }
+
+    /**
+     * Copies fields into {@code buffer} until the discriminator of {@code table} has been consumed or the object
+     * ends, leaving the parser on the first token that has not been buffered.
+     *
+     * @return the type id text, or {@code null} if the discriminator is absent or JSON {@code null}
+     */
+    private static @Nullable String scanForDiscriminator(JsonParser p, UnionScan scan, Set<String> excluded,
+            DispatchTable table) throws IOException {
+        String property = table.property();
+        while (p.currentToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == null) {
+                break;
+            }
+            if (scan.isResolved(name)) {
+                throw duplicateDiscriminator(name);
+            }
+            if (excluded.contains(name)) {
+                p.skipChildren();
+                p.nextToken();
+                continue;
+            }
+            boolean discriminator = name.equals(property);
+            String text = null;
+            if (discriminator) {
+                text = typeIdText(p, value, table);
+                scan.remember(name, text);
+            } else if (table.properties().contains(name)) {
+                scan.remember(name, scalarText(p, value));
+            }
+            if (discriminator && table.strip()) {
+                p.skipChildren();
+            } else {
+                scan.copy(name, p);
+            }
+            p.nextToken();
+            if (discriminator) {
+                return text;
+            }
+        }
+        if (p.currentToken() != JsonToken.END_OBJECT) {
+            throw new IOException("Unexpected end of input in object for " + table.property() + " discriminator");
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a {@code JsonTypeInfo.Id.DEDUCTION} level from the names of the fields already scanned, then copies
+     * further fields into {@code buffer} until a single subtype is left or the object ends.
+     */
+    private static Class<?> deduce(JsonParser p, UnionScan scan, Set<String> excluded, Class<?> baseType,
+            DispatchTable table, DeductionIndex deduction) throws IOException {
+        DeductionIndex.Candidates candidates = deduction.candidates();
+        if (scan.buffered()) {
+            JsonParser buffered = scan.buffer().asParser();
+            buffered.nextToken();
+            while (buffered.nextToken() == JsonToken.FIELD_NAME) {
+                String name = buffered.currentName();
+                buffered.nextToken();
+                buffered.skipChildren();
+                if (candidates.accept(name)) {
+                    return candidates.resolve(baseType, table.defaultImpl());
+                }
+            }
+        }
+        while (p.currentToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == null) {
+                break;
+            }
+            if (scan.isResolved(name)) {
+                throw duplicateDiscriminator(name);
+            }
+            if (excluded.contains(name)) {
+                p.skipChildren();
+                p.nextToken();
+                continue;
+            }
+            if (table.properties().contains(name)) {
+                scan.remember(name, scalarText(p, value));
+            }
+            scan.copy(name, p);
+            p.nextToken();
+            if (candidates.accept(name)) {
+                return candidates.resolve(baseType, table.defaultImpl());
+            }
+        }
+        if (p.currentToken() != JsonToken.END_OBJECT) {
+            throw new IOException("Unexpected end of input in object of " + baseType.getName());
+        }
+        return candidates.resolve(baseType, table.defaultImpl());
+    }
+
+    /**
+     * Returns the text of the current value as remembered for a discriminator: empty for an object or array and
+     * {@code null} for JSON {@code null}.
+     */
+    private static @Nullable String scalarText(JsonParser p, JsonToken value) throws IOException {
+        return value.isStructStart() ? "" : value == JsonToken.VALUE_NULL ? null : p.getText();
+    }
+
+    /**
+     * Returns the registered id matching the current string token, read from the parser's character buffer, and only
+     * materializes the text of ids the table does not know. Other tokens are read as by {@link #scalarText}.
+     */
+    private static @Nullable String typeIdText(JsonParser p, JsonToken value, DispatchTable table)
+            throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            return scalarText(p, value);
+        }
+        String id = table.matcher().match(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        return id != null ? id : p.getText();
+    }
+
+    private Object readObject(JsonParser p, ObjectPlan plan, Set<String> excluded) throws IOException {
+        if (plan instanceof DelegatingPlan delegating) {
+            return delegating.newInstance(readValue(p, delegating.parameter().type(), excluded));
+        }
+        if (plan instanceof FallbackPlan) {
+            return readLeaf(p, mapper.getTypeFactory().constructType(plan.type()), excluded);
+        }
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            String label = plan.type().isRecord() ? "record " : "";
+            throw new IOException("Expected object for " + label + plan.type().getName());
+        }
+        return readFields(p, plan, excluded, false, Set.of());
+    }
+
+    /**
+     * Binds the fields of the current object with a creator or builder plan. With {@code resumed} the parser is
+     * already on the first unread field (or the end of the object) instead of on the start of the object. Names in
+     * {@code consumed} are discriminators already read from this object, which must not occur again.
+     */
+    private Object readFields(JsonParser p, ObjectPlan plan, Set<String> excluded, boolean resumed,
+            Set<String> consumed) throws IOException {
+        if (plan instanceof BuilderPlan builder) {
+            List<PropertyBinding> leading = builder.builderBindings();
+            Slots slots = readSlots(p, resumed, builder.index(), leading.size() + builder.properties().size(),
+                    excluded, consumed, index -> bindingAt(leading, builder.properties(), index).type());
+            Object target = builder.newBuilder();
+            applyBindings(target, leading, slots, 0);
+            Object instance = builder.build(target);
+            applyBindings(instance, builder.properties(), slots, leading.size());
+            return instance;
+        }
+        CreatorPlan creator = (CreatorPlan) plan;
+        List<CreatorParameter> parameters = creator.parameters();
+        Slots slots = readSlots(p, resumed, creator.index(), parameters.size() + creator.properties().size(),
+                excluded, consumed, index -> index < parameters.size() ? parameters.get(index).type()
+                        : creator.properties().get(index - parameters.size()).type());
+        Object[] args = new Object[parameters.size()];
+        for (int i = 0; i < args.length; i++) {
+            CreatorParameter parameter = parameters.get(i);
+            args[i] = slots.present[i] ? parameter.checkValue(slots.values[i]) : parameter.missingValue();
+        }
+        Object instance = creator.newInstance(args);
+        applyBindings(instance, creator.properties(), slots, parameters.size());
+        return instance;
+    }
+
+    private static PropertyBinding bindingAt(List<PropertyBinding> leading, List<PropertyBinding> properties,
+            int index) {
+        return index < leading.size() ? leading.get(index) : properties.get(index - leading.size());
+    }
+
+    private static void applyBindings(Object target, List<PropertyBinding> bindings, Slots slots, int offset)
+            throws IOException {
+        for (int i = 0; i < bindings.size(); i++) {
+            PropertyBinding binding = bindings.get(i);
+            if (slots.present[offset + i]) {
+                binding.applyValue(target, slots.values[offset + i]);
+            } else {
+                binding.applyMissing(target);
+            }
+        }
+    }
+
+    /**
+     * Decodes the fields of the current object into plan slots, with the same result as the lookup of
+     * {@link NodeMapper}: every slot in turn takes the value of its best-ranked name present in the object that no
+     * earlier slot has taken, and a repeated name overrides its earlier occurrence.
+     * <p>
+     * A name listed by a single slot is decoded straight into that slot when it ranks at least as well as the value
+     * already held. A name listed by several slots, such as an alias that is also another property's name, is
+     * buffered and handed out once the whole object has been seen.
+     */
+    private Slots readSlots(JsonParser p, boolean resumed, PropertyIndex index, int size, Set<String> excluded,
+            Set<String> consumed, SlotTypes types) throws IOException {
+        Slots slots = new Slots(size);
+        @Nullable Map<String, TokenBuffer> shared = null;
+        for (boolean field = isField(resumed ? p.currentToken() : p.nextToken()); field; field = nextField(p)) {
+            String name = p.currentName();
+            p.nextToken();
+            List<Slot> candidates = List.of();
+            if (excluded.contains(name)) {
+                if (consumed.contains(name)) {
+                    throw duplicateDiscriminator(name);
+                }
+            } else {
+                candidates = index.find(name);
+            }
+            if (candidates.size() > 1) {
+                if (shared == null) {
+                    shared = new HashMap<>();
+                }
+                TokenBuffer value = new TokenBuffer(p);
+                value.copyCurrentStructure(p);
+                shared.put(name, value);
+                continue;
+            }
+            Slot target = candidates.isEmpty() ? null : candidates.get(0);
+            if (target == null || slots.present[target.index()] && target.rank() > slots.ranks[target.index()]) {
+                p.skipChildren();
+                continue;
+            }
+            int i = target.index();
+            slots.values[i] = readValue(p, types.typeAt(i), Set.of());
+            slots.present[i] = true;
+            slots.ranks[i] = target.rank();
+        }
+        if (shared != null) {
+            assignShared(p, index, slots, shared, types);
+        }
+        return slots;
+    }
+
+    /**
+     * Hands the buffered values of names listed by several slots to the slots, in slot order, that prefer them over
+     * the value decoded directly.
+     */
+    private void assignShared(JsonParser p, PropertyIndex index, Slots slots, Map<String, TokenBuffer> shared,
+            SlotTypes types) throws IOException {
+        for (int i = 0; i < slots.values.length; i++) {
+            List<String> names = index.names().get(i);
+            for (int rank = 0; rank < names.size(); rank++) {
+                if (slots.present[i] && slots.ranks[i] == rank) {
+                    break;
+                }
+                TokenBuffer buffer = shared.remove(names.get(rank));
+                if (buffer != null) {
+                    try (JsonParser value = buffer.asParser(p)) {
+                        value.nextToken();
+                        slots.values[i] = readValue(value, types.typeAt(i), Set.of());
+                    }
+                    slots.present[i] = true;
+                    slots.ranks[i] = rank;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static IOException duplicateDiscriminator(String name) {
+        return new IOException("Duplicate discriminator property '" + name + "'");
+    }
+
+    static boolean nextField(JsonParser p) throws IOException {
+        return isField(p.nextToken());
+    }
+
+    private static boolean isField(@Nullable JsonToken token) throws IOException {
+        if (token == JsonToken.FIELD_NAME) {
+            return true;
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new IOException("Unexpected end of input in object");
+        }
+        return false;
+    }
+
+    /**
+     * Hands a value without discriminators to the underlying {@code ObjectMapper}. Values whose own properties are
+     * excluded are read as a tree first so those properties can be dropped.
+     */
+    private @Nullable Object readLeaf(JsonParser p, JavaType targetType, Set<String> excluded) throws IOException {
+        if (excluded.isEmpty() || p.currentToken() != JsonToken.START_OBJECT) {
+            return reader(targetType).readValue(p);
+        }
+        JsonNode tree = reader(mapper.getTypeFactory().constructType(JsonNode.class)).readValue(p);
+        JsonNode stripped = typeResolver.stripDiscriminators(tree, excluded);
+        if (JsonNode.class.isAssignableFrom(targetType.getRawClass())) {
+            return stripped;
+        }
+        return mapper.treeToValue(stripped, targetType);
+    }
+
+    private ObjectReader reader(JavaType type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = mapper.readerFor(type).without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+            readers.put(type, reader);
+        }
+        return reader;
+    }
+
+    @FunctionalInterface
+    private interface SlotTypes {
+        JavaType typeAt(int index);
+    }
+
+    private static final class Slots {
+        final @Nullable Object[] values;
+        final boolean[] present;
+        final int[] ranks;
+
+        Slots(int size) {
+            this.values = new Object[size];
+            this.present = new boolean[size];
+            this.ranks = new int[size];
+        }
+    }
+
+    /**
+     * Fields of a union object consumed while its discriminators are resolved: the copies needed to bind it later and
+     * the remembered discriminator values of deeper levels.
+     * <p>
+     * The buffer is only created for the first copied field, and a single remembered value is kept without a map, so a
+     * union whose one discriminator is hidden and comes first allocates neither. A name remembered twice is marked,
+     * and fails only if a level actually reads it.
+     */
+    private static final class UnionScan {
+        private final JsonParser parser;
+        private @Nullable TokenBuffer buffer;
+        private @Nullable String name;
+        private @Nullable String value;
+        private @Nullable Map<String, @Nullable String> values;
+        private @Nullable Set<String> repeated;
+        private Set<String> resolved = Set.of();
+
+        UnionScan(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        /** Copies the field {@code name} whose value is the current token. */
+        void copy(String name, JsonParser p) throws IOException {
+            TokenBuffer current = buffer();
+            current.writeFieldName(name);
+            current.copyCurrentStructure(p);
+        }
+
+        boolean buffered() {
+            return buffer != null;
+        }
+
+        /** The copied fields, after the start of the object. */
+        TokenBuffer buffer() throws IOException {
+            TokenBuffer current = buffer;
+            if (current == null) {
+                current = new TokenBuffer(parser);
+                current.writeStartObject();
+                buffer = current;
+            }
+            return current;
+        }
+
+        void remember(String name, @Nullable String value) {
+            if (remembers(name)) {
+                Set<String> names = repeated;
+                if (names == null) {
+                    names = new HashSet<>();
+                    repeated = names;
+                }
+                names.add(name);
+            }
+            Map<String, @Nullable String> current = values;
+            if (current == null) {
+                if (this.name == null || this.name.equals(name)) {
+                    this.name = name;
+                    this.value = value;
+                    return;
+                }
+                current = new HashMap<>();
+                current.put(this.name, this.value);
+                values = current;
+            }
+            current.put(name, value);
+        }
+
+        /** Records that {@code name} resolved a level, so it must not occur again in the object. */
+        void resolve(String name) {
+            resolved = NodeMapper.merge(resolved, Set.of(name));
+        }
+
+        boolean isResolved(String name) {
+            return resolved.contains(name);
+        }
+
+        Set<String> resolved() {
+            return resolved;
+        }
+
+        boolean remembers(String name) {
+            Map<String, @Nullable String> current = values;
+            return current != null ? current.containsKey(name) : name.equals(this.name);
+        }
+
+        @Nullable String value(String name) throws IOException {
+            Set<String> names = repeated;
+            if (names != null && names.contains(name)) {
+                throw duplicateDiscriminator(name);
+            }
+            Map<String, @Nullable String> current = values;
+            if (current != null) {
+                return current.get(name);
+            }
+            return name.equals(this.name) ? value : null;
+        }
+    }
+
+    /**
+     * Replays buffered tokens followed by the rest of the input. Unlike the flattened sequences built by
+     * {@link JsonParserSequence#createFlattened}, nested replays keep delegating to the enclosing one, so each level
+     * stays consistent while an inner union is being read.
+     */
+    private static final class ReplayParser extends JsonParserSequence {
+        private final JsonParser rest;
+        private final JsonStreamContext object;
+        private final Set<String> consumed;
+
+        /**
+         * {@code rest} must be inside the object being replayed; fields of that object named in {@code consumed} are
+         * rejected when they come from {@code rest}, since their first occurrence was already read.
+         */
+        ReplayParser(JsonParser buffered, JsonParser rest, Set<String> consumed) {
+            super(true, new JsonParser[] { buffered, rest });
+            this.rest = rest;
+            this.object = rest.getParsingContext();
+            this.consumed = consumed;
+        }
+
+        @Override
+        public @Nullable JsonToken nextToken() throws IOException {
+            JsonToken token = super.nextToken();
+            if (token == JsonToken.FIELD_NAME && delegate == rest && rest.getParsingContext() == object
+                    && consumed.contains(rest.currentName())) {
+                throw duplicateDiscriminator(rest.currentName());
+            }
+            return token;
+        }
+    }
+}
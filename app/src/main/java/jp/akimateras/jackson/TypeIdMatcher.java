@@ -0,0 +1,63 @@
+package jp.akimateras.jackson;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Open-addressing table of the type ids of one discriminator level, probed with the parser's text buffer.
+ * <p>
+ * A match returns the registered id instance, so resolving a streamed discriminator allocates no {@code String} and
+ * the following subtype lookup hits the cached hash of that instance.
+ */
+final class TypeIdMatcher {
+    private final @Nullable String[] ids;
+    private final char[][] chars;
+    private final int mask;
+
+    private TypeIdMatcher(Collection<String> ids) {
+        int capacity = Integer.highestOneBit(Math.max(1, ids.size()) * 2 - 1) << 1;
+        this.ids = new String[capacity];
+        this.chars = new char[capacity][];
+        this.mask = capacity - 1;
+        for (String id : ids) {
+            char[] text = id.toCharArray();
+            int slot = hash(text, 0, text.length) & mask;
+            while (this.ids[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            this.ids[slot] = id;
+            this.chars[slot] = text;
+        }
+    }
+
+    static TypeIdMatcher of(Collection<String> ids) {
+        return new TypeIdMatcher(ids);
+    }
+
+    /**
+     * Returns the registered id equal to {@code length} characters of {@code text} from {@code offset}, or
+     * {@code null} if there is none.
+     */
+    @Nullable String match(char[] text, int offset, int length) {
+        int slot = hash(text, offset, length) & mask;
+        String id;
+        while ((id = ids[slot]) != null) {
+            char[] candidate = chars[slot];
+            if (candidate.length == length && Arrays.equals(candidate, 0, length, text, offset, offset + length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private static int hash(char[] text, int offset, int length) {
+        int hash = length;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + text[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
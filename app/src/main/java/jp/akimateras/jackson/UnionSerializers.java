@@ -0,0 +1,178 @@
+package jp.akimateras.jackson;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import jp.akimateras.jackson.DiscriminatorTypeResolver.TypeId;
+
+/**
+ * Serializers for concrete members of discriminated unions that write every discriminator level.
+ * <p>
+ * Jackson only writes the type id of the nearest {@code @JsonTypeInfo} level. These serializers replace that with the
+ * ids from {@link DiscriminatorTypeResolver#typeIdsOf(Class)}, outermost level first, followed by the properties
+ * written by Jackson's own bean serializer. Only members of hierarchies with a supported {@code @JsonTypeInfo} are
+ * claimed; others are written by Jackson. Writer plans are cached per class.
+ */
+final class UnionSerializers extends Serializers.Base {
+    private final DiscriminatorTypeResolver typeResolver;
+    private final Function<@Nullable ObjectCodec, UnionSerializers> byCodec;
+    private final Map<Class<?>, WriterPlan> plans = new ConcurrentHashMap<>();
+
+    UnionSerializers(DiscriminatorTypeResolver typeResolver) {
+        this.typeResolver = typeResolver;
+        this.byCodec = codec -> this;
+    }
+
+    /**
+     * Creates serializers that write with the plans of the instance {@code byCodec} returns for the codec of the
+     * generator in use, so copies of a mapper do not write with the subtype tables of the original.
+     */
+    UnionSerializers(DiscriminatorTypeResolver typeResolver,
+            Function<@Nullable ObjectCodec, UnionSerializers> byCodec) {
+        this.typeResolver = typeResolver;
+        this.byCodec = byCodec;
+    }
+
+    @Override
+    public @Nullable JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type,
+            BeanDescription beanDesc) {
+        Class<?> raw = type.getRawClass();
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers()) || raw.isEnum()
+                || Collection.class.isAssignableFrom(raw) || Map.class.isAssignableFrom(raw)
+                || !hasUnionSupertype(raw)) {
+            return null;
+        }
+        return new UnionSerializer(raw, this);
+    }
+
+    /** Drops the cached writer plans, for example after subtypes have been registered. */
+    void invalidate() {
+        plans.clear();
+    }
+
+    private boolean hasUnionSupertype(Class<?> raw) {
+        if (typeResolver.hasSupportedTypeInfo(raw)) {
+            return true;
+        }
+        Class<?> superclass = raw.getSuperclass();
+        if (superclass != null && superclass != Object.class && hasUnionSupertype(superclass)) {
+            return true;
+        }
+        for (Class<?> implemented : raw.getInterfaces()) {
+            if (hasUnionSupertype(implemented)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    WriterPlan plan(Class<?> type, SerializerProvider provider) throws IOException {
+        WriterPlan cached = plans.get(type);
+        if (cached != null) {
+            return cached;
+        }
+        WriterPlan plan = compile(type, provider);
+        WriterPlan previous = plans.putIfAbsent(type, plan);
+        return previous != null ? previous : plan;
+    }
+
+    private WriterPlan compile(Class<?> type, SerializerProvider provider) throws IOException {
+        JsonSerializer<Object> bean = BeanSerializerFactory.instance.createSerializer(provider,
+                provider.constructType(type));
+        if (bean instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+        JsonSerializer<Object> body = bean.unwrappingSerializer(NameTransformer.NOP);
+        if (!body.isUnwrappingSerializer()) {
+            // Not written as a JSON object (for example @JsonValue), so there is nowhere to put discriminators.
+            return new WriterPlan(List.of(), bean, false);
+        }
+        Set<String> written = new HashSet<>();
+        for (Iterator<PropertyWriter> properties = body.properties(); properties.hasNext();) {
+            written.add(properties.next().getName());
+        }
+        List<Discriminator> discriminators = new ArrayList<>();
+        for (TypeId typeId : typeResolver.typeIdsOf(type)) {
+            if (!written.contains(typeId.property())) {
+                discriminators.add(new Discriminator(new SerializedString(typeId.property()), typeId.id()));
+            }
+        }
+        return new WriterPlan(List.copyOf(discriminators), body, true);
+    }
+
+    /**
+     * @param discriminators discriminators not already written as regular properties
+     * @param body serializer of the remaining content
+     * @param wrap whether {@code body} writes bare properties that need an enclosing object
+     */
+    record WriterPlan(List<Discriminator> discriminators, JsonSerializer<Object> body, boolean wrap) {
+    }
+
+    record Discriminator(SerializableString property, String id) {
+    }
+
+    /**
+     * Writes a union member through its {@link WriterPlan}. Jackson's {@link TypeSerializer} is ignored because it
+     * only knows a single discriminator level.
+     */
+    private static final class UnionSerializer extends StdSerializer<Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient UnionSerializers owner;
+
+        UnionSerializer(Class<?> type, UnionSerializers owner) {
+            super(type, false);
+            this.owner = owner;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            WriterPlan plan = owner.byCodec.apply(gen.getCodec()).plan(value.getClass(), provider);
+            if (!plan.wrap()) {
+                plan.body().serialize(value, gen, provider);
+                return;
+            }
+            gen.writeStartObject(value);
+            for (Discriminator discriminator : plan.discriminators()) {
+                gen.writeFieldName(discriminator.property());
+                gen.writeString(discriminator.id());
+            }
+            plan.body().serialize(value, gen, provider);
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                TypeSerializer typeSerializer) throws IOException {
+            serialize(value, gen, provider);
+        }
+    }
+}
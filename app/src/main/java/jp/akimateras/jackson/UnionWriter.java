@@ -0,0 +1,122 @@
+package jp.akimateras.jackson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.databind.ser.SerializerFactory;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+/**
+ * Writes values with the configuration and generators of an {@code ObjectMapper}, through a serializer factory and
+ * serializer cache of its own that add {@link UnionSerializers}. The mapper itself is never modified, so its own
+ * output does not change and wrapping it again adds nothing to it.
+ * <p>
+ * The factory and cache are rebuilt whenever the mapper's configuration, serializer factory or serializer provider
+ * has changed since the last write, so modules and features registered later take effect.
+ */
+final class UnionWriter {
+    private final ObjectMapper mapper;
+    private final UnionSerializers serializers;
+    private @Nullable Blueprint blueprint;
+
+    UnionWriter(ObjectMapper mapper, UnionSerializers serializers) {
+        this.mapper = mapper;
+        this.serializers = serializers;
+    }
+
+    private record Blueprint(SerializationConfig config, SerializerFactory source, SerializerProvider sourceProvider,
+            SerializerFactory factory, DefaultSerializerProvider provider) {
+        boolean matches(SerializationConfig config, SerializerFactory source, SerializerProvider sourceProvider) {
+            return this.config == config && this.source == source && this.sourceProvider == sourceProvider;
+        }
+    }
+
+    /** Drops the cached serializers, for example after subtypes were registered. */
+    synchronized void invalidate() {
+        blueprint = null;
+    }
+
+    String writeValueAsString(@Nullable Object value) throws IOException {
+        StringWriter writer = new StringWriter();
+        writeAndClose(mapper.createGenerator(writer), value);
+        return writer.toString();
+    }
+
+    byte[] writeValueAsBytes(@Nullable Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeAndClose(mapper.createGenerator(out, JsonEncoding.UTF8), value);
+        return out.toByteArray();
+    }
+
+    void writeValue(OutputStream out, @Nullable Object value) throws IOException {
+        writeAndClose(mapper.createGenerator(out, JsonEncoding.UTF8), value);
+    }
+
+    void writeValue(Writer writer, @Nullable Object value) throws IOException {
+        writeAndClose(mapper.createGenerator(writer), value);
+    }
+
+    /** Writes to a generator owned by the caller, which is left open as {@code ObjectMapper.writeValue} does. */
+    void writeValue(JsonGenerator generator, @Nullable Object value) throws IOException {
+        SerializationConfig config = mapper.getSerializationConfig();
+        if (config.isEnabled(SerializationFeature.INDENT_OUTPUT) && generator.getPrettyPrinter() == null) {
+            generator.setPrettyPrinter(config.constructDefaultPrettyPrinter());
+        }
+        serialize(config, generator, value);
+        if (config.isEnabled(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)) {
+            generator.flush();
+        }
+    }
+
+    private void writeAndClose(JsonGenerator generator, @Nullable Object value) throws IOException {
+        try {
+            serialize(mapper.getSerializationConfig(), generator, value);
+        } catch (Exception e) {
+            ClassUtil.closeOnFailAndThrowAsIOE(generator, e);
+            return;
+        }
+        generator.close();
+    }
+
+    private void serialize(SerializationConfig config, JsonGenerator generator, @Nullable Object value)
+            throws IOException {
+        Blueprint current = blueprint(config);
+        current.provider().createInstance(config, current.factory()).serializeValue(generator, value);
+    }
+
+    private synchronized Blueprint blueprint(SerializationConfig config) {
+        SerializerFactory source = mapper.getSerializerFactory();
+        SerializerProvider sourceProvider = mapper.getSerializerProvider();
+        Blueprint current = blueprint;
+        if (current == null || !current.matches(config, source, sourceProvider)) {
+            current = new Blueprint(config, source, sourceProvider, source.withAdditionalSerializers(serializers),
+                    copy(sourceProvider));
+            blueprint = current;
+        }
+        return current;
+    }
+
+    /** Copies the mapper's provider without its serializer cache; providers that cannot be copied are replaced. */
+    private static DefaultSerializerProvider copy(SerializerProvider provider) {
+        if (provider instanceof DefaultSerializerProvider defaultProvider) {
+            try {
+                return defaultProvider.copy();
+            } catch (IllegalStateException e) {
+                // A subclass without copy(); its customizations are lost.
+            }
+        }
+        return new DefaultSerializerProvider.Impl();
+    }
+}
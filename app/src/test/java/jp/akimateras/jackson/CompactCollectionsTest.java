@@ -0,0 +1,72 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CompactCollectionsTest {
+    @Test
+    void testListAllowsNulls() {
+        List<Object> list = CompactCollections.list(new ArrayList<>(Arrays.asList("a", null, "b")));
+        assertEquals(Arrays.asList("a", null, "b"), list);
+        assertTrue(list.contains(null));
+        assertThrows(UnsupportedOperationException.class, () -> list.add("c"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+    }
+
+    @Test
+    void testSetAndMapLookupsAboveScanLimit() {
+        Set<Object> source = new LinkedHashSet<>();
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            source.add(i);
+            entries.put("k" + i, i % 7 == 0 ? null : i);
+        }
+        Set<Object> set = CompactCollections.set(source);
+        Map<Object, Object> map = CompactCollections.map(entries);
+        assertEquals(source, set);
+        assertEquals(List.copyOf(source), List.copyOf(set));
+        assertTrue(set.contains(49));
+        assertFalse(set.contains(50));
+        assertEquals(entries, map);
+        assertEquals(List.copyOf(entries.keySet()), List.copyOf(map.keySet()));
+        assertEquals(48, map.get("k48"));
+        assertNull(map.get("k49x"));
+        assertTrue(map.containsKey("k7"));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("x", 1));
+    }
+
+    @Test
+    void testMapperOption() throws Exception {
+        var mapper = new MultiDiscriminatorObjectMapper().enableCompactCollections();
+        String json = """
+                { "a": [1, 2], "b": [] }
+                """;
+        TypeReference<Map<String, List<Integer>>> type = new TypeReference<>() {
+        };
+        Map<String, List<Integer>> streamed = mapper.readValue(json, type);
+        Map<String, List<Integer>> mapped = mapper.readValue(new ObjectMapper().readTree(json), type);
+        assertEquals(Map.of("a", List.of(1, 2), "b", List.of()), streamed);
+        assertEquals(streamed, mapped);
+        assertThrows(UnsupportedOperationException.class, () -> streamed.get("a").add(3));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.remove("a"));
+
+        mapper.disableCompactCollections();
+        mapper.readValue(json, type).get("a").add(3);
+    }
+}
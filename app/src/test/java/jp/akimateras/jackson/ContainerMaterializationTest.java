@@ -0,0 +1,111 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ContainerMaterializationTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final String JSON = """
+            {
+                "colors": ["RED", "BLUE"],
+                "counts": { "BLUE": 2, "RED": 1 },
+                "queue": ["a", "b"],
+                "linked": ["c"],
+                "index": { "x": 1 },
+                "sorted": { "b": 2, "a": 1 },
+                "custom": ["d", "e"]
+            }
+            """;
+
+    @Test
+    void testStreamingPath() throws Exception {
+        assertContainers(MAPPER.readValue(JSON, Holder.class));
+    }
+
+    @Test
+    void testTreePath() throws Exception {
+        assertContainers(MAPPER.readValue(new ObjectMapper().readTree(JSON), Holder.class));
+    }
+
+    @Test
+    void testQueuesAcceptNullElements() throws Exception {
+        String json = "[\"a\", null]";
+        List<String> expected = Arrays.asList("a", null);
+        Deque<String> deque = MAPPER.readValue(json, new TypeReference<Deque<String>>() {
+        });
+        assertEquals(expected, new ArrayList<>(deque));
+        assertEquals(expected, new ArrayList<>(MAPPER.readValue(new ObjectMapper().readTree(json),
+                new TypeReference<Deque<String>>() {
+                })));
+        assertEquals(expected, new ArrayList<>(MAPPER.readValue(json, new TypeReference<Queue<String>>() {
+        })));
+    }
+
+    @Test
+    void testNullRejectingContainersReportIOException() throws Exception {
+        for (String json : List.of("{ \"queue\": [\"a\", null] }", "{ \"index\": { \"x\": null } }")) {
+            IOException streaming = assertThrows(IOException.class, () -> MAPPER.readValue(json, Nulls.class));
+            assertTrue(streaming.getMessage().contains("not allowed in"), streaming.getMessage());
+            JsonNode node = new ObjectMapper().readTree(json);
+            IOException tree = assertThrows(IOException.class, () -> MAPPER.readValue(node, Nulls.class));
+            assertEquals(streaming.getMessage(), tree.getMessage());
+        }
+    }
+
+    record Nulls(@Nullable ArrayDeque<@Nullable String> queue,
+            @Nullable ConcurrentHashMap<String, @Nullable Integer> index) {
+    }
+
+    private static void assertContainers(Holder holder) {
+        assertEquals(EnumSet.of(Color.RED, Color.BLUE), holder.colors());
+        assertEquals(new EnumMap<>(Map.of(Color.RED, 1, Color.BLUE, 2)), holder.counts());
+        assertEquals(List.of("a", "b"), new ArrayList<>(holder.queue()));
+        assertEquals(new LinkedList<>(List.of("c")), holder.linked());
+        assertEquals(Map.of("x", 1), holder.index());
+        assertInstanceOf(TreeMap.class, holder.sorted());
+        assertEquals(List.of("a", "b"), new ArrayList<>(holder.sorted().keySet()));
+        assertEquals(List.of("d", "e"), holder.custom());
+    }
+
+    enum Color {
+        RED, BLUE
+    }
+
+    static final class Names extends ArrayList<String> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    record Holder(
+            EnumSet<Color> colors,
+            EnumMap<Color, Integer> counts,
+            ArrayDeque<String> queue,
+            LinkedList<String> linked,
+            ConcurrentHashMap<String, Integer> index,
+            SortedMap<String, Integer> sorted,
+            Names custom) {
+    }
+}
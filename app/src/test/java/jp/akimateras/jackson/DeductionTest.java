@@ -0,0 +1,97 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class DeductionTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+
+    @Test
+    void testDeducesFromFieldNames() throws Exception {
+        String json = """
+                [ { "radius": 2.0 }, { "height": 3.0, "width": 4.0 }, { "extra": true, "width": 1.0, "height": 1.0 } ]
+                """;
+        List<Shape> expected = List.of(new Shape.Circle(2.0), new Shape.Rect(4.0, 3.0), new Shape.Rect(1.0, 1.0));
+        TypeReference<List<Shape>> type = new TypeReference<>() {
+        };
+        assertEquals(expected, MAPPER.readValue(json, type));
+        assertEquals(expected, MAPPER.readValue(new ObjectMapper().readTree(json), type));
+    }
+
+    @Test
+    void testDeductionBelowNamedLevel() throws Exception {
+        String leading = """
+                { "type": "shape", "radius": 1.5 }
+                """;
+        String trailing = """
+                { "width": 2.0, "height": 1.0, "type": "shape" }
+                """;
+        assertEquals(new Shape.Circle(1.5), MAPPER.readValue(leading, Message.class));
+        assertEquals(new Shape.Rect(2.0, 1.0), MAPPER.readValue(trailing, Message.class));
+        assertEquals(new Shape.Rect(2.0, 1.0), MAPPER.readValue(new ObjectMapper().readTree(trailing), Message.class));
+    }
+
+    @Test
+    void testAmbiguousFields() {
+        assertThrows(IOException.class, () -> MAPPER.readValue("{ \"extra\": 1 }", Shape.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue(new ObjectMapper().readTree("{}"), Shape.class));
+    }
+
+    @Test
+    void testOnlyConcreteSubtypesAreCandidates() {
+        IOException error = assertThrows(IOException.class, () -> MAPPER.readValue("{ \"extra\": 1 }", Shape.class));
+        assertTrue(error.getMessage().endsWith("(2 candidates)"), error.getMessage());
+    }
+
+    @Test
+    void testEmptyObjectDeducesSubtypeWithoutProperties() throws Exception {
+        assertEquals(new Tile.Empty(), new ObjectMapper().readValue("{}", Tile.class));
+        assertEquals(new Tile.Empty(), MAPPER.readValue("{}", Tile.class));
+        assertEquals(new Tile.Empty(), MAPPER.readValue(new ObjectMapper().readTree("{}"), Tile.class));
+        assertEquals(new Tile.Square(2), MAPPER.readValue("{ \"side\": 2 }", Tile.class));
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.DEDUCTION)
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Tile.Empty.class),
+            @JsonSubTypes.Type(value = Tile.Square.class),
+    })
+    sealed interface Tile permits Tile.Empty, Tile.Square {
+        record Empty() implements Tile {
+        }
+
+        record Square(int side) implements Tile {
+        }
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Shape.class, name = "shape"),
+    })
+    sealed interface Message permits Shape {
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.DEDUCTION)
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Shape.Circle.class),
+            @JsonSubTypes.Type(value = Shape.Rect.class),
+    })
+    sealed interface Shape extends Message permits Shape.Circle, Shape.Rect {
+        record Circle(double radius) implements Shape {
+        }
+
+        record Rect(double width, double height) implements Shape {
+        }
+    }
+}
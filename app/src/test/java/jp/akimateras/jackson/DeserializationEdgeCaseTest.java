@@ -1,6 +1,7 @@
 package jp.akimateras.jackson;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import org.junit.jupiter.api.Test;
 
@@ -10,6 +11,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.akimateras.jackson.models.Artiodactyla;
 
 class DeserializationEdgeCaseTest {
     private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
@@ -77,6 +81,36 @@ class DeserializationEdgeCaseTest {
         assertEquals(new DelegatingRecord("token"), actual);
     }
 
+    @Test
+    void testHiddenDiscriminatorNotPassedToDelegate() throws Exception {
+        String json = """
+                {
+                    "type": "wrapped",
+                    "a": 1
+                }
+                """;
+        WrappedBase actual = MAPPER.readValue(json, WrappedBase.class);
+        JsonNode node = ((WrappedItem) actual).node;
+        assertEquals(1, node.get("a").asInt());
+        assertFalse(node.has("type"));
+    }
+
+    @Test
+    void testInputNodeNotModifiedByDiscriminatorStripping() throws Exception {
+        JsonNode input = new ObjectMapper().readTree("""
+                {
+                    "species": "alpaca",
+                    "kind": "suri",
+                    "color": "gray",
+                    "hairLength": 3
+                }
+                """);
+        Artiodactyla actual = MAPPER.readValue(input, Artiodactyla.class);
+        assertEquals(new Artiodactyla.Alpaca.Suri("gray", 3, null), actual);
+        assertEquals("alpaca", input.get("species").asText());
+        assertEquals("suri", input.get("kind").asText());
+    }
+
     @Test
     void testNonJsonBuilderFactoryIgnored() throws Exception {
         String json = """
@@ -109,6 +143,22 @@ class DeserializationEdgeCaseTest {
     record VisibleItem(String type, String value) implements VisibleBase {
     }
 
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = WrappedItem.class, name = "wrapped")
+    })
+    interface WrappedBase {
+    }
+
+    static final class WrappedItem implements WrappedBase {
+        final JsonNode node;
+
+        @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+        WrappedItem(JsonNode node) {
+            this.node = node;
+        }
+    }
+
     record AccessorAliasRecord(String name) {
         @Override
         @JsonAlias("nick")
@@ -0,0 +1,72 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class FeederTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final List<Artiodactyla> EXPECTED = List.of(
+            new Artiodactyla.Vicugna("golden", null),
+            new Artiodactyla.Alpaca.Suri("black", 20, null));
+
+    @Test
+    void testByteByByte() throws Exception {
+        byte[] json = """
+                {"color":"golden","species":"vicugna"}
+                {"species":"alpaca","kind":"suri","color":"black","hairLength":20}
+                """.getBytes(StandardCharsets.UTF_8);
+        MultiDiscriminatorFeeder<Artiodactyla> feeder = MAPPER.feederFor(Artiodactyla.class);
+        List<Artiodactyla> actual = new ArrayList<>();
+        for (int i = 0; i < json.length; i++) {
+            actual.addAll(feeder.feed(json, i, 1));
+        }
+        actual.addAll(feeder.endOfInput());
+        assertEquals(EXPECTED, actual);
+    }
+
+    @Test
+    void testTopLevelArrayEmitsElementsAsTheyComplete() throws Exception {
+        MultiDiscriminatorFeeder<Artiodactyla> feeder = MAPPER.feederFor(Artiodactyla.class);
+        assertTrue(feeder.feed(bytes("[{\"species\":\"vicugna\",")).isEmpty());
+        assertEquals(List.of(EXPECTED.get(0)), feeder.feed(bytes("\"color\":\"golden\"},{\"species\"")));
+        assertEquals(List.of(EXPECTED.get(1)),
+                feeder.feed(bytes(":\"alpaca\",\"kind\":\"suri\",\"color\":\"black\",\"hairLength\":20}]")));
+        assertTrue(feeder.endOfInput().isEmpty());
+    }
+
+    @Test
+    void testDirectByteBuffer() throws Exception {
+        byte[] json = bytes("[[{\"species\":\"vicugna\",\"color\":\"golden\"}]]");
+        ByteBuffer direct = ByteBuffer.allocateDirect(json.length);
+        direct.put(json).flip();
+        MultiDiscriminatorFeeder<List<List<Artiodactyla>>> feeder = MAPPER.feederFor(
+                new TypeReference<List<List<Artiodactyla>>>() {
+                });
+        assertEquals(List.of(List.of(List.of(EXPECTED.get(0)))), feeder.feed(direct));
+        assertEquals(0, direct.remaining());
+    }
+
+    @Test
+    void testTruncatedInput() throws Exception {
+        MultiDiscriminatorFeeder<Artiodactyla> feeder = MAPPER.feederFor(Artiodactyla.class);
+        feeder.feed(bytes("{\"species\":\"vicugna\""));
+        assertThrows(IOException.class, feeder::endOfInput);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -12,6 +12,7 @@ import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import jp.akimateras.jackson.models.Artiodactyla;
@@ -125,6 +126,24 @@ class GenericMappingTest {
         assertEquals("yama", actual.name());
     }
 
+    @Test
+    void testGenericRecordResolvesTypeArgument() throws Exception {
+        String json = """
+                {
+                    "value": {
+                        "move": "run",
+                        "speed": 2.5
+                    }
+                }
+                """;
+        Box<Artiodactyla.Move> actual = MAPPER.readValue(json, new TypeReference<Box<Artiodactyla.Move>>() {
+        });
+        assertEquals(new Box<>(new Artiodactyla.Move.Run(2.5f)), actual);
+    }
+
+    record Box<T>(T value) {
+    }
+
     record NameRecord(String name) {
     }
 
@@ -0,0 +1,68 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class InputSourceTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final String JSON = """
+            { "color": "brown", "species": "vicugna", "moves": [ { "move": "spits" } ] }
+            """;
+    private static final Artiodactyla EXPECTED = new Artiodactyla.Vicugna("brown",
+            List.of(new Artiodactyla.Move.Spits()));
+
+    @Test
+    void testBytes() throws Exception {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        assertEquals(EXPECTED, MAPPER.readValue(bytes, Artiodactyla.class));
+
+        byte[] padded = ("xx" + JSON + "yy").getBytes(StandardCharsets.UTF_8);
+        assertEquals(EXPECTED, MAPPER.readValue(padded, 2, bytes.length, Artiodactyla.class));
+    }
+
+    @Test
+    void testInputStreamAndReader() throws Exception {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        assertEquals(EXPECTED, MAPPER.readValue(new ByteArrayInputStream(bytes), Artiodactyla.class));
+        assertEquals(EXPECTED, MAPPER.readValue(new StringReader(JSON), new TypeReference<Artiodactyla>() {
+        }));
+    }
+
+    @Test
+    void testByteBuffers() throws Exception {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer heap = ByteBuffer.allocate(bytes.length + 4);
+        heap.put(new byte[4]).put(bytes).flip().position(4);
+        assertEquals(EXPECTED, MAPPER.readValue(heap.slice(), Artiodactyla.class));
+        assertEquals(EXPECTED, MAPPER.readValue(heap, Artiodactyla.class));
+        assertEquals(4, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        assertEquals(EXPECTED, MAPPER.readValue(direct, Artiodactyla.class));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    void testPath() throws Exception {
+        Path file = Files.createTempFile("input-source", ".json");
+        try {
+            Files.writeString(file, JSON);
+            assertEquals(EXPECTED, MAPPER.readValue(file, Artiodactyla.class));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
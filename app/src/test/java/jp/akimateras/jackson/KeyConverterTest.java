@@ -0,0 +1,92 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+class KeyConverterTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final UUID ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final String JSON = """
+            {
+                "ids": { "1": "one", "-2": "minus two" },
+                "levels": { "low": 1, "HIGH": 3, "mid": 2 },
+                "uuids": { "123e4567-e89b-12d3-a456-426614174000": true },
+                "dates": { "2024-02-29": "leap" },
+                "flags": { "true": 1 }
+            }
+            """;
+
+    @Test
+    void testStreamingPath() throws Exception {
+        assertKeys(MAPPER.readValue(JSON, Holder.class));
+    }
+
+    @Test
+    void testTreePath() throws Exception {
+        assertKeys(MAPPER.readValue(new ObjectMapper().readTree(JSON), Holder.class));
+    }
+
+    @Test
+    void testInvalidKey() {
+        assertThrows(IOException.class, () -> MAPPER.readValue("{ \"ids\": { \"x\": \"y\" } }", Holder.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue("{ \"flags\": { \"yes\": 1 } }", Holder.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue("{ \"levels\": { \"none\": 1 } }", Holder.class));
+    }
+
+    @Test
+    void testRegisteredKeyDeserializerWins() throws Exception {
+        SimpleModule module = new SimpleModule().addKeyDeserializer(Integer.class, new KeyDeserializer() {
+            @Override
+            public Object deserializeKey(String key, DeserializationContext ctxt) {
+                return Integer.valueOf(key.substring(1));
+            }
+        });
+        ObjectMapper jackson = new ObjectMapper().registerModule(module);
+        var mapper = new MultiDiscriminatorObjectMapper(jackson);
+        TypeReference<Map<Integer, String>> type = new TypeReference<>() {
+        };
+        String json = "{ \"#5\": \"x\" }";
+        assertEquals(jackson.readValue(json, type), mapper.readValue(json, type));
+        assertEquals(Map.of(5, "x"), mapper.readValue(json, type));
+        assertEquals(Map.of(5, "x"), mapper.readValue(jackson.readTree(json), type));
+    }
+
+    private static void assertKeys(Holder holder) {
+        assertEquals(Map.of(1, "one", -2, "minus two"), holder.ids());
+        assertEquals(Map.of(Level.LOW, 1, Level.MID, 2, Level.HIGH, 3), holder.levels());
+        assertEquals(Map.of(ID, true), holder.uuids());
+        assertEquals(Map.of(LocalDate.of(2024, 2, 29), "leap"), holder.dates());
+        assertEquals(Map.of(true, 1), holder.flags());
+    }
+
+    enum Level {
+        @JsonProperty("low")
+        LOW,
+        @JsonAlias("mid")
+        MID,
+        HIGH
+    }
+
+    record Holder(
+            Map<Integer, String> ids,
+            Map<Level, Integer> levels,
+            Map<UUID, Boolean> uuids,
+            Map<LocalDate, String> dates,
+            Map<Boolean, Integer> flags) {
+    }
+}
@@ -0,0 +1,103 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class MultiDiscriminatorModuleTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new MultiDiscriminatorModule());
+
+    @Test
+    void testRootUnion() throws Exception {
+        String json = """
+                {
+                    "color": "white",
+                    "hairLength": 10,
+                    "fluffiness": 8,
+                    "kind": "huacaya",
+                    "species": "alpaca"
+                }
+                """;
+        var actual = MAPPER.readValue(json, Artiodactyla.class);
+        assertEquals(new Artiodactyla.Alpaca.Huacaya("white", 10, 8, null), actual);
+    }
+
+    @Test
+    void testUnionNestedInJacksonBean() throws Exception {
+        String json = """
+                {
+                    "name": "north",
+                    "animals": [
+                        { "species": "alpaca", "kind": "suri", "color": "black", "hairLength": 20 },
+                        { "species": "vicugna", "color": "golden", "moves": [ { "move": "spits" } ] }
+                    ]
+                }
+                """;
+        ObjectReader reader = MAPPER.readerFor(Herd.class);
+        var actual = reader.readValue(json);
+        var expected = new Herd("north", List.of(
+                new Artiodactyla.Alpaca.Suri("black", 20, null),
+                new Artiodactyla.Vicugna("golden", List.of(new Artiodactyla.Move.Spits()))));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testUnsupportedTypeInfoLeftToJackson() throws Exception {
+        Holder holder = new Holder(new ClassTagged.Leaf("a"), new Wrapped.Leaf(1));
+        String json = MAPPER.writeValueAsString(holder);
+        assertEquals(new ObjectMapper().writeValueAsString(holder), json);
+        assertEquals(holder, MAPPER.readValue(json, Holder.class));
+    }
+
+    @Test
+    void testCopiesUseTheirOwnSubtypes() throws Exception {
+        ObjectMapper original = new ObjectMapper().registerModule(new MultiDiscriminatorModule());
+        ObjectMapper copy = original.copy();
+        copy.registerSubtypes(new NamedType(Extensible.Late.class, "late"));
+        String json = "{\"type\":\"late\",\"value\":3}";
+        assertEquals(new Extensible.Late(3), copy.readValue(json, Extensible.class));
+        assertEquals(json, copy.writeValueAsString(new Extensible.Late(3)));
+        assertThrows(IOException.class, () -> original.readValue(json, Extensible.class));
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+    public sealed interface ClassTagged {
+        record Leaf(String name) implements ClassTagged {
+        }
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT)
+    @JsonSubTypes(@JsonSubTypes.Type(value = Wrapped.Leaf.class, name = "leaf"))
+    public sealed interface Wrapped {
+        record Leaf(int size) implements Wrapped {
+        }
+    }
+
+    public record Holder(ClassTagged tagged, Wrapped wrapped) {
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+    @JsonSubTypes(@JsonSubTypes.Type(value = Extensible.Early.class, name = "early"))
+    public interface Extensible {
+        record Early(int value) implements Extensible {
+        }
+
+        record Late(int value) implements Extensible {
+        }
+    }
+
+    public record Herd(String name, List<Artiodactyla> animals) {
+    }
+}
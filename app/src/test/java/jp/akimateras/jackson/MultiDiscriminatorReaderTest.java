@@ -0,0 +1,94 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class MultiDiscriminatorReaderTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final MultiDiscriminatorReader<Artiodactyla> READER = MAPPER.readerFor(Artiodactyla.class);
+
+    @Test
+    void testReadsFromEverySource() throws Exception {
+        String json = """
+                { "species": "alpaca", "kind": "suri", "color": "black", "hairLength": 20 }
+                """;
+        var expected = new Artiodactyla.Alpaca.Suri("black", 20, null);
+        assertEquals(expected, READER.readValue(json));
+        assertEquals(expected, READER.readValue(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(expected, READER.readValue(new ObjectMapper().readTree(json)));
+    }
+
+    @Test
+    void testGenericReader() throws Exception {
+        MultiDiscriminatorReader<Map<String, List<Artiodactyla>>> reader = MAPPER.readerFor(
+                new TypeReference<Map<String, List<Artiodactyla>>>() {
+                });
+        String json = """
+                { "herd": [ { "species": "vicugna", "color": "golden" } ] }
+                """;
+        assertEquals(Map.of("herd", List.of(new Artiodactyla.Vicugna("golden", null))), reader.readValue(json));
+    }
+
+    @Test
+    void testWarmerVisitsReachableTypes() {
+        ObjectMapper jackson = new ObjectMapper();
+        DiscriminatorTypeResolver resolver = new DiscriminatorTypeResolver(jackson);
+        PlanWarmer warmer = new PlanWarmer(jackson, resolver, new ObjectPlanner(jackson, true));
+        PlanWarmer.Result result = warmer.warm(jackson.constructType(Artiodactyla.class));
+        // Artiodactyla, Alpaca, Move, 7 concrete records and the component types.
+        assertTrue(result.typeCount() >= 10, "visited " + result.typeCount());
+        assertEquals(7, result.planCount());
+        assertEquals(3, result.dispatchTableCount());
+        assertEquals(List.of(), result.failures());
+    }
+
+    @Test
+    void testPrecompileReport() throws Exception {
+        var mapper = new MultiDiscriminatorObjectMapper();
+        PrecompileReport report = mapper.precompile(Artiodactyla.class, Artiodactyla.Move.class);
+        assertTrue(report.typeCount() >= 10, "prepared " + report.typeCount());
+        assertEquals(7, report.planCount());
+        assertEquals(3, report.dispatchTableCount());
+        assertEquals(List.of(), report.failures());
+        PrecompileReport again = mapper.precompile(Artiodactyla.class, Artiodactyla.Move.class);
+        assertEquals(report.typeCount(), again.typeCount());
+        assertEquals(0, again.planCount());
+        assertEquals(0, again.dispatchTableCount());
+        assertEquals(new Artiodactyla.Vicugna("golden", null),
+                mapper.readValue("{ \"species\": \"vicugna\", \"color\": \"golden\" }", Artiodactyla.class));
+    }
+
+    @Test
+    void testPrecompileReportsFailures() {
+        PrecompileReport report = new MultiDiscriminatorObjectMapper().precompile(Ambiguous.class);
+        assertEquals(0, report.planCount());
+        assertEquals(1, report.failures().size());
+        PrecompileReport.Failure failure = report.failures().get(0);
+        assertEquals(Ambiguous.class, failure.type().getRawClass());
+        assertTrue(failure.message().contains("Multiple @JsonCreator creators"), failure.message());
+    }
+
+    static final class Ambiguous {
+        @JsonCreator
+        Ambiguous(@JsonProperty("value") String value) {
+        }
+
+        @JsonCreator
+        static Ambiguous of(@JsonProperty("value") String value) {
+            return new Ambiguous(value);
+        }
+    }
+}
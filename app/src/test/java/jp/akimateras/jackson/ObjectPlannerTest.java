@@ -0,0 +1,93 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class ObjectPlannerTest {
+    private static final ObjectMapper JACKSON = new ObjectMapper();
+
+    @Test
+    void testPlanIsCached() throws Exception {
+        ObjectPlanner planner = new ObjectPlanner(JACKSON, true);
+        JavaType type = JACKSON.constructType(Artiodactyla.Llama.class);
+        ObjectPlan first = planner.plan(type);
+        assertSame(first, planner.plan(type));
+    }
+
+    @Test
+    void testRecordPlanResolvesComponents() throws Exception {
+        ObjectPlanner planner = new ObjectPlanner(JACKSON, true);
+        ObjectPlan plan = planner.plan(JACKSON.constructType(Artiodactyla.Llama.class));
+        assertTrue(plan instanceof ObjectPlan.CreatorPlan);
+        List<ObjectPlan.CreatorParameter> parameters = ((ObjectPlan.CreatorPlan) plan).parameters();
+        assertEquals(List.of("color", "weightCapacityKg", "moves"),
+                parameters.stream().map(parameter -> parameter.names().primary()).toList());
+        assertEquals(List.of(false, false, true),
+                parameters.stream().map(ObjectPlan.CreatorParameter::nullable).toList());
+    }
+
+    @Test
+    void testPlanCacheIsBounded() throws Exception {
+        ObjectPlanner planner = new ObjectPlanner(JACKSON, true, 1);
+        JavaType llama = JACKSON.constructType(Artiodactyla.Llama.class);
+        JavaType vicugna = JACKSON.constructType(Artiodactyla.Vicugna.class);
+        ObjectPlan first = planner.plan(llama);
+        planner.plan(vicugna);
+        assertNotSame(first, planner.plan(llama));
+    }
+
+    @Test
+    void testPlanningFailureIsReportedOnEveryLookup() {
+        ObjectPlanner planner = new ObjectPlanner(JACKSON, true);
+        JavaType type = JACKSON.constructType(AmbiguousCreators.class);
+        assertThrows(IOException.class, () -> planner.plan(type));
+        assertThrows(IOException.class, () -> planner.plan(type));
+    }
+
+    @Test
+    void testCreatorFailureKeepsCause() throws Exception {
+        ObjectPlanner planner = new ObjectPlanner(JACKSON, true);
+        ObjectPlan plan = planner.plan(JACKSON.constructType(Rejecting.class));
+        IOException error = assertThrows(IOException.class,
+                () -> ((ObjectPlan.CreatorPlan) plan).newInstance(new Object[] { -1 }));
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+    }
+
+    record Rejecting(int value) {
+        Rejecting {
+            if (value < 0) {
+                throw new IllegalArgumentException("negative");
+            }
+        }
+    }
+
+    static final class AmbiguousCreators {
+        @Nullable
+        String value;
+
+        @JsonCreator
+        AmbiguousCreators(String value) {
+            this.value = value;
+        }
+
+        @JsonCreator
+        AmbiguousCreators(int value) {
+            this.value = Integer.toString(value);
+        }
+    }
+}
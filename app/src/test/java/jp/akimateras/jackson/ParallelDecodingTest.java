@@ -0,0 +1,100 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class ParallelDecodingTest {
+    private static final int SIZE = 2000;
+
+    @Test
+    void testPreservesOrder() throws Exception {
+        var mapper = new MultiDiscriminatorObjectMapper().enableParallelDecoding(100);
+        List<Artiodactyla> expected = expected(SIZE);
+        String json = json(SIZE, -1);
+        assertEquals(expected, mapper.readValue(json, new TypeReference<List<Artiodactyla>>() {
+        }));
+        assertArrayEquals(expected.toArray(), mapper.readValue(json, Artiodactyla[].class));
+        assertEquals(expected, mapper.readValue(new ObjectMapper().readTree(json),
+                new TypeReference<List<Artiodactyla>>() {
+                }));
+    }
+
+    @Test
+    void testSuppliedExecutor() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            var mapper = new MultiDiscriminatorObjectMapper().enableParallelDecoding(100, executor);
+            assertEquals(expected(SIZE), mapper.readValue(json(SIZE, -1), new TypeReference<List<Artiodactyla>>() {
+            }));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBelowThresholdMatchesSequential() throws Exception {
+        var mapper = new MultiDiscriminatorObjectMapper().enableParallelDecoding(SIZE + 1);
+        assertEquals(expected(10), mapper.readValue(json(10, -1), new TypeReference<List<Artiodactyla>>() {
+        }));
+    }
+
+    @Test
+    void testReportsFirstFailure() {
+        var mapper = new MultiDiscriminatorObjectMapper().enableParallelDecoding(100);
+        String json = json(SIZE, 1500).replace("\"species\":\"vicugna\",\"color\":\"c10\"", "\"species\":\"cow\"");
+        IOException error = assertThrows(IOException.class, () -> mapper.readValue(json,
+                new TypeReference<List<Artiodactyla>>() {
+                }));
+        IOException sequential = assertThrows(IOException.class, () -> new MultiDiscriminatorObjectMapper()
+                .readValue(json, new TypeReference<List<Artiodactyla>>() {
+                }));
+        assertEquals(sequential.getMessage(), error.getMessage());
+        assertTrue(error.getMessage().contains("cow"), error.getMessage());
+    }
+
+    @Test
+    void testCrossesThresholdMidArray() throws Exception {
+        var mapper = new MultiDiscriminatorObjectMapper().enableParallelDecoding(SIZE - 1);
+        assertEquals(expected(SIZE), mapper.readValue(json(SIZE, -1), new TypeReference<List<Artiodactyla>>() {
+        }));
+        IOException error = assertThrows(IOException.class, () -> mapper.readValue(json(SIZE, 10),
+                new TypeReference<List<Artiodactyla>>() {
+                }));
+        assertTrue(error.getMessage().contains("dog"), error.getMessage());
+    }
+
+    private static List<Artiodactyla> expected(int size) {
+        List<Artiodactyla> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(new Artiodactyla.Vicugna("c" + i, null));
+        }
+        return values;
+    }
+
+    private static String json(int size, int broken) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String species = i == broken ? "dog" : "vicugna";
+            json.append("{\"species\":\"").append(species).append("\",\"color\":\"c").append(i).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+}
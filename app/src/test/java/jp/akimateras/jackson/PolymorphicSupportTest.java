@@ -1,6 +1,9 @@
 package jp.akimateras.jackson;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
 
 import org.junit.jupiter.api.Test;
 
@@ -77,6 +80,36 @@ class PolymorphicSupportTest {
         assertEquals(new UnnamedItem("ok"), actual);
     }
 
+    @Test
+    void testSubtypeRegisteredAfterFirstResolution() throws Exception {
+        MultiDiscriminatorObjectMapper mapper = new MultiDiscriminatorObjectMapper(new ObjectMapper());
+        String json = """
+                {
+                    "type": "late",
+                    "value": "ok"
+                }
+                """;
+        assertThrows(IOException.class, () -> mapper.readValue(json, LateBase.class));
+        mapper.registerSubtypes(new NamedType(LateItem.class, "late"));
+        assertEquals(new LateItem("ok"), mapper.readValue(json, LateBase.class));
+    }
+
+    @Test
+    void testInvalidateAfterDirectRegistration() throws Exception {
+        ObjectMapper jackson = new ObjectMapper();
+        MultiDiscriminatorObjectMapper mapper = new MultiDiscriminatorObjectMapper(jackson);
+        String json = """
+                {
+                    "type": "late",
+                    "value": "ok"
+                }
+                """;
+        assertThrows(IOException.class, () -> mapper.readValue(json, LateBase.class));
+        jackson.registerSubtypes(new NamedType(LateItem.class, "late"));
+        mapper.invalidateSubtypeTables();
+        assertEquals(new LateItem("ok"), mapper.readValue(json, LateBase.class));
+    }
+
     @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "kind")
     @JsonSubTypes({
             @JsonSubTypes.Type(value = ConcreteDog.class, name = "dog")
@@ -119,6 +152,13 @@ class PolymorphicSupportTest {
     record RegisteredItem(String value) implements RegisteredBase {
     }
 
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
+    interface LateBase {
+    }
+
+    record LateItem(String value) implements LateBase {
+    }
+
     @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
     @JsonSubTypes({
             @JsonSubTypes.Type(value = UnnamedItem.class)
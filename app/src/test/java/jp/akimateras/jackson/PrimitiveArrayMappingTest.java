@@ -0,0 +1,93 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PrimitiveArrayMappingTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final ObjectMapper JACKSON = new ObjectMapper();
+
+    @Test
+    void testNumericArrays() throws Exception {
+        String json = """
+                {
+                    "ints": [1, -2, 3],
+                    "longs": [1, 4294967296],
+                    "floats": [1.5, 2, -0.25],
+                    "doubles": [0.1, 3],
+                    "shorts": [7, -32768],
+                    "flags": [true, false]
+                }
+                """;
+        for (Samples actual : readBoth(json, Samples.class)) {
+            assertArrayEquals(new int[] { 1, -2, 3 }, actual.ints());
+            assertArrayEquals(new long[] { 1, 4294967296L }, actual.longs());
+            assertArrayEquals(new float[] { 1.5f, 2f, -0.25f }, actual.floats());
+            assertArrayEquals(new double[] { 0.1, 3 }, actual.doubles());
+            assertArrayEquals(new short[] { 7, -32768 }, actual.shorts());
+            assertArrayEquals(new boolean[] { true, false }, actual.flags());
+        }
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        int[] expected = new int[100];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i * 3;
+            json.append(i == 0 ? "" : ",").append(i * 3);
+        }
+        json.append(']');
+        for (int[] actual : readBoth(json.toString(), int[].class)) {
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testBase64Bytes() throws Exception {
+        for (byte[] actual : readBoth("\"AQL/\"", byte[].class)) {
+            assertArrayEquals(new byte[] { 1, 2, -1 }, actual);
+        }
+        for (byte[] actual : readBoth("[1, 2, 255]", byte[].class)) {
+            assertArrayEquals(new byte[] { 1, 2, -1 }, actual);
+        }
+    }
+
+    @Test
+    void testCharsFromString() throws Exception {
+        for (char[] actual : readBoth("\"abc\"", char[].class)) {
+            assertArrayEquals(new char[] { 'a', 'b', 'c' }, actual);
+        }
+        for (char[] actual : readBoth("[\"x\", \"y\"]", char[].class)) {
+            assertArrayEquals(new char[] { 'x', 'y' }, actual);
+        }
+    }
+
+    @Test
+    void testCoercedElementsUseSlowPath() throws Exception {
+        for (int[] actual : readBoth("[1, \"2\", 3.0]", int[].class)) {
+            assertArrayEquals(new int[] { 1, 2, 3 }, actual);
+        }
+    }
+
+    @Test
+    void testNullElementIsRejected() throws Exception {
+        String json = "[1, null]";
+        assertThrows(IOException.class, () -> MAPPER.readValue(json, int[].class));
+        assertThrows(IOException.class, () -> MAPPER.readValue(JACKSON.readTree(json), int[].class));
+    }
+
+    private static <T> List<T> readBoth(String json, Class<T> type) throws IOException {
+        return List.of(MAPPER.readValue(json, type), MAPPER.readValue(JACKSON.readTree(json), type));
+    }
+
+    record Samples(int[] ints, long[] longs, float[] floats, double[] doubles, short[] shorts, boolean[] flags) {
+    }
+}
@@ -0,0 +1,100 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PrimitiveMapTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final String JSON = """
+            {
+                "weights": { "1": 0.5, "-7": 2, "3": "1.25" },
+                "scores": { "9000000000": 1.5, "0": -3 },
+                "names": { "2": "two", "4": null },
+                "shapes": { "10": { "kind": "circle", "radius": 2 }, "11": { "kind": "square", "side": 3 } }
+            }
+            """;
+
+    @Test
+    void testStreamingPath() throws Exception {
+        assertMaps(MAPPER.readValue(JSON, Features.class));
+    }
+
+    @Test
+    void testTreePath() throws Exception {
+        assertMaps(MAPPER.readValue(new ObjectMapper().readTree(JSON), Features.class));
+    }
+
+    @Test
+    void testRoundTrip() throws Exception {
+        Features features = MAPPER.readValue(JSON, Features.class);
+        assertEquals(features, MAPPER.readValue(MAPPER.writeValueAsString(features), Features.class));
+    }
+
+    @Test
+    void testInvalidInput() {
+        assertThrows(IOException.class, () -> MAPPER.readValue("{ \"weights\": { \"a\": 1 } }", Features.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue("{ \"weights\": { \"1\": null } }", Features.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue("{ \"scores\": [] }", Features.class));
+    }
+
+    @Test
+    void testGrowth() {
+        IntFloatMap map = new IntFloatMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 31, i);
+        }
+        map.put(0, -1);
+        assertEquals(1000, map.size());
+        assertEquals(-1, map.getOrDefault(0, 0));
+        assertEquals(999, map.getOrDefault(999 * 31, 0));
+        assertFalse(map.containsKey(1));
+        List<Integer> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+        assertEquals(List.of(0, 31, 62), keys.subList(0, 3));
+        assertEquals(List.of(999 * 31), keys.subList(999, 1000));
+    }
+
+    private static void assertMaps(Features features) {
+        assertEquals("{1=0.5, -7=2.0, 3=1.25}", features.weights().toString());
+        assertEquals(1.5, features.scores().getOrDefault(9_000_000_000L, 0));
+        assertEquals(-3, features.scores().getOrDefault(0, 0));
+        assertEquals("two", features.names().get(2));
+        assertTrue(features.names().containsKey(4));
+        assertNull(features.names().get(4));
+        assertEquals(new Circle(2), features.shapes().get(10));
+        assertEquals(new Square(3), features.shapes().get(11));
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "kind")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Circle.class, name = "circle"),
+            @JsonSubTypes.Type(value = Square.class, name = "square") })
+    sealed interface Shape {
+    }
+
+    record Circle(double radius) implements Shape {
+    }
+
+    record Square(double side) implements Shape {
+    }
+
+    record Features(
+            IntFloatMap weights,
+            LongDoubleMap scores,
+            IntObjectMap<String> names,
+            LongObjectMap<Shape> shapes) {
+    }
+}
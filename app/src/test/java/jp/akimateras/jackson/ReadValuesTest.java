@@ -0,0 +1,124 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class ReadValuesTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final List<Artiodactyla> EXPECTED = List.of(
+            new Artiodactyla.Vicugna("golden", null),
+            new Artiodactyla.Alpaca.Suri("black", 20, null));
+
+    @Test
+    void testNewlineDelimited() throws Exception {
+        String json = """
+                {"species":"vicugna","color":"golden"}
+                {"color":"black","hairLength":20,"kind":"suri","species":"alpaca"}
+                """;
+        List<Artiodactyla> actual = new ArrayList<>();
+        try (MultiDiscriminatorIterator<Artiodactyla> values = MAPPER.readValues(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Artiodactyla.class)) {
+            values.forEachRemaining(actual::add);
+        }
+        assertEquals(EXPECTED, actual);
+    }
+
+    @Test
+    void testTopLevelArrayAsStream() throws Exception {
+        String json = """
+                [
+                    {"species":"vicugna","color":"golden"},
+                    {"species":"alpaca","kind":"suri","color":"black","hairLength":20}
+                ]
+                """;
+        try (Stream<Artiodactyla> values = MAPPER.readValues(new StringReader(json), Artiodactyla.class).stream()) {
+            assertEquals(EXPECTED, values.toList());
+        }
+    }
+
+    @Test
+    void testCollectionTypeKeepsArrays() throws Exception {
+        String json = """
+                [{"species":"vicugna","color":"golden"}]
+                [{"species":"alpaca","kind":"suri","color":"black","hairLength":20}]
+                """;
+        MultiDiscriminatorIterator<List<Artiodactyla>> values = MAPPER.readValues(
+                new StringReader(json), new TypeReference<List<Artiodactyla>>() {
+                });
+        assertEquals(List.of(EXPECTED.get(0)), values.next());
+        assertEquals(List.of(EXPECTED.get(1)), values.next());
+        assertFalse(values.hasNext());
+    }
+
+    @Test
+    void testEmptyInput() throws Exception {
+        assertFalse(MAPPER.readValues("", Artiodactyla.class).hasNext());
+        assertFalse(MAPPER.readValues("[]", Artiodactyla.class).hasNext());
+    }
+
+    @Test
+    void testFailureIsUnchecked() throws Exception {
+        MultiDiscriminatorIterator<Artiodactyla> values = MAPPER.readValues("""
+                {"species":"vicugna","color":"golden"}
+                {"species":"unknown"}
+                """, Artiodactyla.class);
+        assertTrue(values.hasNext());
+        values.next();
+        assertThrows(UncheckedIOException.class, values::next);
+    }
+
+    @Test
+    void testMemoryMappedFile() throws Exception {
+        Path file = Files.createTempFile("read-values", ".json");
+        try {
+            Files.writeString(file, """
+                    [
+                        {"species":"vicugna","color":"golden"},
+                        {"species":"alpaca","kind":"suri","color":"black","hairLength":20}
+                    ]
+                    """);
+            try (Stream<Artiodactyla> values = MAPPER.readValues(file, Artiodactyla.class).stream()) {
+                assertEquals(EXPECTED, values.toList());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testMappedWindowsAreContiguous() throws Exception {
+        Path file = Files.createTempFile("read-values", ".bin");
+        try {
+            byte[] content = new byte[1000];
+            for (int i = 0; i < content.length; i++) {
+                content[i] = (byte) i;
+            }
+            Files.write(file, content);
+            try (MappedInputStream in = new MappedInputStream(file, 64)) {
+                assertArrayEquals(content, in.readAllBytes());
+                assertEquals(-1, in.read());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
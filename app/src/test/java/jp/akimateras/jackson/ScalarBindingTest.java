@@ -0,0 +1,106 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ScalarBindingTest {
+    private static final ObjectMapper JACKSON = new ObjectMapper()
+            .enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE);
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper(JACKSON);
+
+    @Test
+    void testDirectValues() throws Exception {
+        Scalars scalars = MAPPER.readValue(JACKSON.readTree("""
+                {
+                    "text": "abc", "count": 42, "total": 9000000000, "small": -3, "tiny": 255,
+                    "ratio": 0.5, "weight": 2, "flag": true, "letter": "x",
+                    "amount": 12.50, "big": 123456789012345678901234567890,
+                    "id": "123e4567-e89b-12d3-a456-426614174000",
+                    "level": "low", "levels": ["MID", "mid", "HIGH", "unknown"]
+                }
+                """), Scalars.class);
+        assertEquals(new Scalars("abc", 42, 9_000_000_000L, (short) -3, (byte) -1, 0.5, 2f, true, 'x',
+                new BigDecimal("12.5"), new BigInteger("123456789012345678901234567890"),
+                UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), Level.LOW,
+                List.of(Level.MID, Level.MID, Level.HIGH, Level.OTHER)), scalars);
+    }
+
+    @Test
+    void testCoercionsMatchObjectMapper() throws Exception {
+        assertSameAsJackson("\"42\"", Integer.class);
+        assertSameAsJackson("4.0", Integer.class);
+        assertSameAsJackson("12", String.class);
+        assertSameAsJackson("false", String.class);
+        assertSameAsJackson("\"true\"", Boolean.class);
+        assertSameAsJackson("\"2.5\"", Double.class);
+        assertSameAsJackson("12.50", BigDecimal.class);
+        assertSameAsJackson("7", BigDecimal.class);
+        assertSameAsJackson("1e2", BigInteger.class);
+        assertSameAsJackson("1", Level.class);
+    }
+
+    @Test
+    void testFailuresMatchObjectMapper() throws Exception {
+        assertThrows(IOException.class, () -> MAPPER.readValue(JACKSON.readTree("9000000000"), Integer.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue(JACKSON.readTree("256"), Byte.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue(JACKSON.readTree("\"xy\""), Character.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue(JACKSON.readTree("\"not-a-uuid\""), UUID.class));
+        assertThrows(IOException.class, () -> JACKSON.treeToValue(JACKSON.readTree("\"1-1-1-1-1\""), UUID.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue(JACKSON.readTree("\"1-1-1-1-1\""), UUID.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue(JACKSON.readTree("\"low\""), Strict.class));
+        // Without the java.time module the ObjectMapper rejects the type, and so does the direct path.
+        assertThrows(IOException.class, () -> MAPPER.readValue(JACKSON.readTree("\"2024-01-01\""), LocalDate.class));
+    }
+
+    private static void assertSameAsJackson(String json, Class<?> type) throws Exception {
+        JsonNode node = JACKSON.readTree(json);
+        assertEquals(JACKSON.treeToValue(node, type), MAPPER.readValue(node, type));
+    }
+
+    enum Level {
+        @JsonProperty("low")
+        LOW,
+        @JsonAlias("mid")
+        MID,
+        HIGH,
+        @JsonEnumDefaultValue
+        OTHER
+    }
+
+    enum Strict {
+        HIGH
+    }
+
+    record Scalars(
+            String text,
+            int count,
+            long total,
+            short small,
+            byte tiny,
+            double ratio,
+            Float weight,
+            boolean flag,
+            char letter,
+            BigDecimal amount,
+            BigInteger big,
+            UUID id,
+            Level level,
+            List<Level> levels) {
+    }
+}
@@ -0,0 +1,67 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class SealedSubtypeTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+
+    @Test
+    void testPermittedSubclassesAreCandidates() throws Exception {
+        assertEquals(new Event.Created("a"), MAPPER.readValue("{ \"id\": \"a\", \"event\": \"created\" }",
+                Event.class));
+        assertEquals(new Event.Deleted("b"), MAPPER.readValue("{ \"event\": \"Deleted\", \"id\": \"b\" }",
+                Event.class));
+    }
+
+    @Test
+    void testIntermediateWithoutTypeInfoIsFlattened() throws Exception {
+        String json = """
+                { "event": "Renamed", "id": "c", "name": "d" }
+                """;
+        assertEquals(new Event.Renamed("c", "d"), MAPPER.readValue(json, Event.class));
+        assertEquals(new Event.Renamed("c", "d"), MAPPER.readValue(new ObjectMapper().readTree(json), Event.class));
+        assertThrows(IOException.class, () -> MAPPER.readValue("{ \"event\": \"Update\" }", Event.class));
+    }
+
+    @Test
+    void testNestedLevelAndRoundTrip() throws Exception {
+        String json = """
+                { "event": "Audit", "level": "warn", "id": "e" }
+                """;
+        var expected = new Event.Audit.Warn("e");
+        assertEquals(expected, MAPPER.readValue(json, Event.class));
+        assertEquals(expected, MAPPER.readValue(MAPPER.writeValueAsString(expected), Event.class));
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "event")
+    sealed interface Event permits Event.Created, Event.Deleted, Event.Update, Event.Audit {
+        @JsonTypeName("created")
+        record Created(String id) implements Event {
+        }
+
+        record Deleted(String id) implements Event {
+        }
+
+        sealed interface Update extends Event permits Renamed {
+        }
+
+        record Renamed(String id, String name) implements Update {
+        }
+
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "level")
+        sealed interface Audit extends Event permits Audit.Warn {
+            @JsonTypeName("warn")
+            record Warn(String id) implements Audit {
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class StreamingReadTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+
+    @Test
+    void testDiscriminatorsAfterProperties() throws Exception {
+        String json = """
+                {
+                    "color": "white",
+                    "moves": [
+                        { "speed": 3.5, "move": "run" },
+                        { "move": "bite" }
+                    ],
+                    "hairLength": 10,
+                    "kind": "huacaya",
+                    "fluffiness": 8,
+                    "species": "alpaca"
+                }
+                """;
+        var actual = MAPPER.readValue(json, Artiodactyla.class);
+        var expected = new Artiodactyla.Alpaca.Huacaya(
+                "white",
+                10,
+                8,
+                List.of(new Artiodactyla.Move.Run(3.5f), new Artiodactyla.Move.Bite()));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testMatchesTreePath() throws Exception {
+        String json = """
+                {
+                    "species": "alpaca",
+                    "moves": [ { "move": "spits" } ],
+                    "color": "black",
+                    "kind": "suri",
+                    "hairLength": 20
+                }
+                """;
+        JsonNode node = new ObjectMapper().readTree(json);
+        assertEquals(MAPPER.readValue(node, Artiodactyla.class), MAPPER.readValue(json, Artiodactyla.class));
+    }
+
+    @Test
+    void testUnionValuesInMap() throws Exception {
+        String json = """
+                {
+                    "a": { "color": "brown", "species": "vicugna" },
+                    "b": { "species": "vicugna", "color": "golden" }
+                }
+                """;
+        Map<String, Artiodactyla> actual = MAPPER.readValue(json, new TypeReference<Map<String, Artiodactyla>>() {
+        });
+        assertEquals(Map.of(
+                "a", new Artiodactyla.Vicugna("brown", null),
+                "b", new Artiodactyla.Vicugna("golden", null)), actual);
+    }
+
+    @Test
+    void testBufferedRawNodeKeepsVisibleDiscriminator() throws Exception {
+        String json = """
+                { "payload": { "x": [1, 2] }, "type": "raw" }
+                """;
+        var actual = MAPPER.readValue(json, Envelope.class);
+        var payload = new ObjectMapper().readTree("{ \"x\": [1, 2] }");
+        assertEquals(new Envelope.Raw("raw", payload), actual);
+    }
+
+    @Test
+    void testMissingDiscriminatorAtEndOfObject() {
+        String json = """
+                { "color": "brown" }
+                """;
+        assertThrows(IOException.class, () -> MAPPER.readValue(json, Artiodactyla.class));
+    }
+
+    @Test
+    void testTrailingTokensRejectedWhenEnabled() throws Exception {
+        ObjectMapper strict = new ObjectMapper().enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        var mapper = new MultiDiscriminatorObjectMapper(strict);
+        String json = """
+                { "species": "vicugna", "color": "brown" } {}
+                """;
+        assertThrows(IOException.class, () -> mapper.readValue(json, Artiodactyla.class));
+        assertEquals(new Artiodactyla.Vicugna("brown", null), MAPPER.readValue(json, Artiodactyla.class));
+    }
+
+    @Test
+    void testLeadingDiscriminatorsAreNotBuffered() throws Exception {
+        var mapper = new MultiDiscriminatorObjectMapper();
+        String leading = """
+                { "species": "alpaca", "kind": "suri", "color": "black", "hairLength": 20 }
+                """;
+        String trailing = """
+                { "color": "black", "hairLength": 20, "species": "alpaca", "kind": "suri" }
+                """;
+        var expected = new Artiodactyla.Alpaca.Suri("black", 20, null);
+        assertEquals(expected, mapper.readValue(leading, Artiodactyla.class));
+        assertEquals(1, mapper.getUnionReadCount());
+        assertEquals(0, mapper.getBufferedUnionReadCount());
+        assertEquals(expected, mapper.readValue(trailing, Artiodactyla.class));
+        assertEquals(2, mapper.getUnionReadCount());
+        assertEquals(1, mapper.getBufferedUnionReadCount());
+    }
+
+    @Test
+    void testLeadingDiscriminatorWithNestedUnions() throws Exception {
+        String json = """
+                {
+                    "species": "alpaca",
+                    "kind": "huacaya",
+                    "moves": [ { "move": "run", "speed": 3.5 }, { "speed": 1.5, "move": "run" } ],
+                    "color": "white",
+                    "hairLength": 10,
+                    "fluffiness": 8
+                }
+                """;
+        JsonNode node = new ObjectMapper().readTree(json);
+        assertEquals(MAPPER.readValue(node, Artiodactyla.class), MAPPER.readValue(json, Artiodactyla.class));
+    }
+
+    @Test
+    void testDuplicateDiscriminatorRejected() {
+        for (String json : List.of(
+                "{ \"species\": \"llama\", \"species\": \"vicugna\", \"color\": \"brown\" }",
+                "{ \"color\": \"brown\", \"species\": \"llama\", \"species\": \"vicugna\" }",
+                "{ \"species\": \"vicugna\", \"color\": \"brown\", \"species\": \"vicugna\" }",
+                "{ \"kind\": \"huacaya\", \"kind\": \"suri\", \"hairLength\": 20, \"species\": \"alpaca\" }",
+                "{ \"species\": \"alpaca\", \"kind\": \"suri\", \"hairLength\": 20, \"kind\": \"suri\" }")) {
+            IOException error = assertThrows(IOException.class, () -> MAPPER.readValue(json, Artiodactyla.class));
+            assertTrue(error.getMessage().startsWith("Duplicate discriminator property"), error.getMessage());
+        }
+    }
+
+    @Test
+    void testRepeatedUnusedDiscriminatorIgnored() throws Exception {
+        String json = """
+                { "kind": "huacaya", "kind": "suri", "color": "white", "species": "vicugna" }
+                """;
+        JsonNode node = new ObjectMapper().readTree(json);
+        var expected = new Artiodactyla.Vicugna("white", null);
+        assertEquals(expected, MAPPER.readValue(json, Artiodactyla.class));
+        assertEquals(expected, MAPPER.readValue(node, Artiodactyla.class));
+    }
+
+    @Test
+    void testAliasOfAnotherPropertyMatchesTreePath() throws Exception {
+        for (String json : List.of("{ \"x\": \"X\", \"a\": \"A\" }", "{ \"a\": \"A\", \"x\": \"X\" }",
+                "{ \"x\": \"X\", \"a\": \"A\", \"x\": \"Y\" }")) {
+            JsonNode node = new ObjectMapper().readTree(json);
+            assertEquals(MAPPER.readValue(node, Shared.class), MAPPER.readValue(json, Shared.class));
+        }
+        assertEquals(new Shared("A", "X"), MAPPER.readValue("{ \"x\": \"X\", \"a\": \"A\" }", Shared.class));
+    }
+
+    record Shared(@JsonAlias("x") String a, @JsonProperty("x") String b) {
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Envelope.Raw.class, name = "raw"),
+    })
+    sealed interface Envelope permits Envelope.Raw {
+        record Raw(String type, JsonNode payload) implements Envelope {
+        }
+    }
+}
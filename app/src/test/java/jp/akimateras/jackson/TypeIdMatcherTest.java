@@ -0,0 +1,28 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TypeIdMatcherTest {
+    @Test
+    void testReturnsRegisteredInstance() {
+        String run = new String("run");
+        TypeIdMatcher matcher = TypeIdMatcher.of(List.of(run, "bite", "spits", ""));
+        char[] buffer = "xx\"run\"bite".toCharArray();
+        assertSame(run, matcher.match(buffer, 3, 3));
+        assertSame("bite", matcher.match(buffer, 7, 4));
+        assertSame("", matcher.match(buffer, 0, 0));
+    }
+
+    @Test
+    void testUnknownIds() {
+        TypeIdMatcher matcher = TypeIdMatcher.of(List.of("run", "bite"));
+        assertNull(matcher.match("ru".toCharArray(), 0, 2));
+        assertNull(matcher.match("runs".toCharArray(), 0, 4));
+        assertNull(TypeIdMatcher.of(List.of()).match("run".toCharArray(), 0, 3));
+    }
+}
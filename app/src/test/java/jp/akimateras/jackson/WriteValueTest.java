@@ -0,0 +1,105 @@
+package jp.akimateras.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.akimateras.jackson.models.Artiodactyla;
+
+class WriteValueTest {
+    private static final MultiDiscriminatorObjectMapper MAPPER = new MultiDiscriminatorObjectMapper();
+    private static final ObjectMapper JACKSON = new ObjectMapper();
+
+    @Test
+    void testWritesEveryLevelOutermostFirst() throws Exception {
+        var value = new Artiodactyla.Alpaca.Huacaya("white", 10, 8, List.of(new Artiodactyla.Move.Run(3.5f)));
+        String json = MAPPER.writeValueAsString(value);
+        assertEquals("""
+                {"species":"alpaca","kind":"huacaya","color":"white","hairLength":10,"fluffiness":8,\
+                "moves":[{"move":"run","speed":3.5}]}""", json);
+        assertEquals(value, MAPPER.readValue(json, Artiodactyla.class));
+    }
+
+    @Test
+    void testNestedUnionsRoundTrip() throws Exception {
+        var herd = new Herd(List.of(
+                new Artiodactyla.Alpaca.Suri("black", 20, null),
+                new Artiodactyla.Llama("brown", 120f, List.of(new Artiodactyla.Move.Spits()))));
+        byte[] bytes = MAPPER.writeValueAsBytes(herd);
+        JsonNode tree = JACKSON.readTree(bytes);
+        assertEquals("alpaca", tree.at("/animals/0/species").asText());
+        assertEquals("suri", tree.at("/animals/0/kind").asText());
+        assertEquals(herd, MAPPER.readValue(bytes, Herd.class));
+    }
+
+    @Test
+    void testExistingPropertyIsNotDuplicated() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MAPPER.writeValue(out, new Shape.Circle("circle", 2));
+        assertEquals("{\"type\":\"circle\",\"radius\":2}", out.toString("UTF-8"));
+    }
+
+    @Test
+    void testModuleSerializesEveryLevel() throws Exception {
+        ObjectMapper jackson = new ObjectMapper().registerModule(new MultiDiscriminatorModule());
+        var value = new Artiodactyla.Alpaca.Suri("black", 20, null);
+        String json = jackson.writeValueAsString(value);
+        assertEquals("{\"species\":\"alpaca\",\"kind\":\"suri\",\"color\":\"black\",\"hairLength\":20,\"moves\":null}",
+                json);
+        assertEquals(value, jackson.readValue(json, Artiodactyla.class));
+    }
+
+    @Test
+    void testLaterConfigurationIsUsed() throws Exception {
+        ObjectMapper jackson = new ObjectMapper();
+        var mapper = new MultiDiscriminatorObjectMapper(jackson);
+        jackson.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        assertEquals("{\"species\":\"vicugna\",\"color\":\"brown\"}",
+                mapper.writeValueAsString(new Artiodactyla.Vicugna("brown", null)));
+    }
+
+    @Test
+    void testMapperSubclassWithoutCopy() throws Exception {
+        var mapper = new MultiDiscriminatorObjectMapper(new ObjectMapper() {
+            private static final long serialVersionUID = 1L;
+        });
+        var value = new Artiodactyla.Vicugna("brown", null);
+        assertEquals(value, mapper.readValue(mapper.writeValueAsString(value), Artiodactyla.class));
+    }
+
+    @Test
+    void testWrappedMapperIsUnchanged() throws Exception {
+        ObjectMapper jackson = new ObjectMapper();
+        var value = new Artiodactyla.Alpaca.Suri("black", 20, null);
+        String plain = jackson.writeValueAsString(value);
+        var first = new MultiDiscriminatorObjectMapper(jackson);
+        var second = new MultiDiscriminatorObjectMapper(jackson);
+        String expected = "{\"species\":\"alpaca\",\"kind\":\"suri\",\"color\":\"black\",\"hairLength\":20,"
+                + "\"moves\":null}";
+        assertEquals(expected, first.writeValueAsString(value));
+        assertEquals(expected, second.writeValueAsString(value));
+        assertEquals(plain, jackson.writeValueAsString(value));
+        assertEquals(jackson.getSerializerFactory(), new ObjectMapper().getSerializerFactory());
+    }
+
+    record Herd(List<Artiodactyla> animals) {
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Shape.Circle.class, name = "circle"),
+    })
+    sealed interface Shape permits Shape.Circle {
+        record Circle(String type, int radius) implements Shape {
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package jp.akimateras.jackson.jmh;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jp.akimateras.jackson.MultiDiscriminatorObjectMapper;
+import jp.akimateras.jackson.jmh.Models.CreatorPet;
+import jp.akimateras.jackson.jmh.Models.Move;
+
+/**
+ * Single-level inputs that plain Jackson binds on its own through {@code @JsonTypeInfo}, read by both mappers.
+ */
+@State(Scope.Benchmark)
+public class BaselineBenchmark {
+    private static final TypeReference<List<Move>> MOVES = new TypeReference<>() {
+    };
+
+    @Param({ "1000", "10000" })
+    public int size;
+
+    private ObjectMapper jackson = new ObjectMapper();
+    private MultiDiscriminatorObjectMapper mapper = new MultiDiscriminatorObjectMapper();
+    private String moves = "";
+
+    @Setup
+    public void setUp() {
+        jackson = new ObjectMapper();
+        mapper = new MultiDiscriminatorObjectMapper(jackson);
+        moves = Payloads.moves(size);
+    }
+
+    @Benchmark
+    public List<Move> jacksonMoveList() throws IOException {
+        return jackson.readValue(moves, MOVES);
+    }
+
+    @Benchmark
+    public List<Move> mapperMoveList() throws IOException {
+        return mapper.readValue(moves, MOVES);
+    }
+
+    @Benchmark
+    public CreatorPet jacksonCreatorPojo() throws IOException {
+        return jackson.readValue(Payloads.PET, CreatorPet.class);
+    }
+
+    @Benchmark
+    public CreatorPet mapperCreatorPojo() throws IOException {
+        return mapper.readValue(Payloads.PET, CreatorPet.class);
+    }
+}
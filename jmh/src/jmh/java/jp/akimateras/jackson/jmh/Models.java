@@ -0,0 +1,155 @@
+package jp.akimateras.jackson.jmh;
+
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+
+/**
+ * Benchmark model: a three-level union, a single-level union that plain Jackson can also bind, and one POJO per
+ * construction strategy.
+ */
+public final class Models {
+    private Models() {
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "species")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Animal.Llama.class, name = "llama"),
+            @JsonSubTypes.Type(value = Animal.Alpaca.class, name = "alpaca"),
+    })
+    public sealed interface Animal permits Animal.Llama, Animal.Alpaca {
+        record Llama(String color, float weightCapacityKg, @Nullable List<Move> moves) implements Animal {
+        }
+
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "kind")
+        @JsonSubTypes({
+                @JsonSubTypes.Type(value = Alpaca.Huacaya.class, name = "huacaya"),
+                @JsonSubTypes.Type(value = Alpaca.Suri.class, name = "suri"),
+        })
+        sealed interface Alpaca extends Animal permits Alpaca.Huacaya, Alpaca.Suri {
+            @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "grade")
+            @JsonSubTypes({
+                    @JsonSubTypes.Type(value = Huacaya.Fine.class, name = "fine"),
+                    @JsonSubTypes.Type(value = Huacaya.Coarse.class, name = "coarse"),
+            })
+            sealed interface Huacaya extends Alpaca permits Huacaya.Fine, Huacaya.Coarse {
+                record Fine(String color, int hairLength, int fluffiness, @Nullable List<Move> moves)
+                        implements Huacaya {
+                }
+
+                record Coarse(String color, int hairLength, @Nullable List<Move> moves) implements Huacaya {
+                }
+            }
+
+            record Suri(String color, int hairLength, @Nullable List<Move> moves) implements Alpaca {
+            }
+        }
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "move")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Move.Run.class, name = "run"),
+            @JsonSubTypes.Type(value = Move.Bite.class, name = "bite"),
+            @JsonSubTypes.Type(value = Move.Spits.class, name = "spits"),
+    })
+    public sealed interface Move permits Move.Run, Move.Bite, Move.Spits {
+        record Run(float speed) implements Move {
+        }
+
+        record Bite(int strength) implements Move {
+        }
+
+        record Spits() implements Move {
+        }
+    }
+
+    public static final class CreatorPet {
+        public final String name;
+        public final int age;
+        public final @Nullable String owner;
+
+        @JsonCreator
+        public CreatorPet(@JsonProperty("name") String name, @JsonProperty("age") int age,
+                @JsonProperty("owner") @Nullable String owner) {
+            this.name = name;
+            this.age = age;
+            this.owner = owner;
+        }
+    }
+
+    public static final class SetterPet {
+        private String name = "";
+        private int age;
+        private @Nullable String owner;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public @Nullable String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(@Nullable String owner) {
+            this.owner = owner;
+        }
+    }
+
+    @JsonDeserialize(builder = BuiltPet.Builder.class)
+    public static final class BuiltPet {
+        public final String name;
+        public final int age;
+        public final @Nullable String owner;
+
+        BuiltPet(String name, int age, @Nullable String owner) {
+            this.name = name;
+            this.age = age;
+            this.owner = owner;
+        }
+
+        @JsonPOJOBuilder(withPrefix = "with")
+        public static final class Builder {
+            private String name = "";
+            private int age;
+            private @Nullable String owner;
+
+            public Builder withName(String name) {
+                this.name = name;
+                return this;
+            }
+
+            public Builder withAge(int age) {
+                this.age = age;
+                return this;
+            }
+
+            public Builder withOwner(@Nullable String owner) {
+                this.owner = owner;
+                return this;
+            }
+
+            public BuiltPet build() {
+                return new BuiltPet(name, age, owner);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package jp.akimateras.jackson.jmh;
+
+/**
+ * JSON inputs shared by the benchmarks.
+ */
+final class Payloads {
+    static final String LLAMA = """
+            {"species":"llama","color":"brown","weightCapacityKg":150.5,\
+            "moves":[{"move":"run","speed":12.3},{"move":"spits"}]}""";
+
+    /** Three discriminator levels, the last two placed after the regular properties. */
+    static final String DEEP_UNION = """
+            {"species":"alpaca","color":"white","hairLength":10,"fluffiness":8,\
+            "moves":[{"move":"bite","strength":3}],"kind":"huacaya","grade":"fine"}""";
+
+    static final String PET = """
+            {"name":"Pochi","age":4,"owner":"Taro"}""";
+
+    private Payloads() {
+    }
+
+    /** A JSON array of {@code size} single-level {@code Move} unions. */
+    static String moves(int size) {
+        StringBuilder json = new StringBuilder(size * 32).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            switch (i % 3) {
+                case 0 -> json.append("{\"move\":\"run\",\"speed\":").append(i % 50).append(".5}");
+                case 1 -> json.append("{\"move\":\"bite\",\"strength\":").append(i % 10).append('}');
+                default -> json.append("{\"move\":\"spits\"}");
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    /** A JSON object mapping {@code size} keys to small lists of animals. */
+    static String herds(int size) {
+        StringBuilder json = new StringBuilder(size * 256).append('{');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"herd-").append(i).append("\":[").append(LLAMA).append(',').append(DEEP_UNION).append(']');
+        }
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,80 @@
+package jp.akimateras.jackson.jmh;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import jp.akimateras.jackson.MultiDiscriminatorObjectMapper;
+import jp.akimateras.jackson.jmh.Models.Animal;
+import jp.akimateras.jackson.jmh.Models.BuiltPet;
+import jp.akimateras.jackson.jmh.Models.CreatorPet;
+import jp.akimateras.jackson.jmh.Models.Move;
+import jp.akimateras.jackson.jmh.Models.SetterPet;
+
+/**
+ * Hot paths of {@link MultiDiscriminatorObjectMapper#readValue(String, Class)}.
+ */
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+    private static final TypeReference<List<Move>> MOVES = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, List<Animal>>> HERDS = new TypeReference<>() {
+    };
+
+    @Param({ "1000", "10000" })
+    public int size;
+
+    private MultiDiscriminatorObjectMapper mapper = new MultiDiscriminatorObjectMapper();
+    private String moves = "";
+    private String herds = "";
+
+    @Setup
+    public void setUp() {
+        mapper = new MultiDiscriminatorObjectMapper();
+        moves = Payloads.moves(size);
+        herds = Payloads.herds(size / 10);
+    }
+
+    @Benchmark
+    public Animal singleLevelUnion() throws IOException {
+        return mapper.readValue(Payloads.LLAMA, Animal.class);
+    }
+
+    @Benchmark
+    public Animal deepUnion() throws IOException {
+        return mapper.readValue(Payloads.DEEP_UNION, Animal.class);
+    }
+
+    @Benchmark
+    public List<Move> largeMoveList() throws IOException {
+        return mapper.readValue(moves, MOVES);
+    }
+
+    @Benchmark
+    public Map<String, List<Animal>> genericMap() throws IOException {
+        return mapper.readValue(herds, HERDS);
+    }
+
+    @Benchmark
+    public CreatorPet creatorPojo() throws IOException {
+        return mapper.readValue(Payloads.PET, CreatorPet.class);
+    }
+
+    @Benchmark
+    public SetterPet setterPojo() throws IOException {
+        return mapper.readValue(Payloads.PET, SetterPet.class);
+    }
+
+    @Benchmark
+    public BuiltPet builderPojo() throws IOException {
+        return mapper.readValue(Payloads.PET, BuiltPet.class);
+    }
+}
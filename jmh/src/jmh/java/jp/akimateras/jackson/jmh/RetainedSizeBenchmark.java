@@ -0,0 +1,64 @@
+package jp.akimateras.jackson.jmh;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import jp.akimateras.jackson.MultiDiscriminatorObjectMapper;
+import jp.akimateras.jackson.jmh.Models.Animal;
+
+/**
+ * Retained heap of decoded values with growable containers and with
+ * {@link MultiDiscriminatorObjectMapper#enableCompactCollections()}.
+ * <p>
+ * The {@code retainedBytes} counter is the deep size of one decoded value as measured by JOL, taken on the first
+ * invocation of each thread; the score itself is the decoding cost of the chosen mode.
+ */
+@State(Scope.Benchmark)
+public class RetainedSizeBenchmark {
+    private static final TypeReference<Map<String, List<Animal>>> HERDS = new TypeReference<>() {
+    };
+
+    @Param({ "false", "true" })
+    public boolean compact;
+
+    @Param({ "100", "1000" })
+    public int size;
+
+    private MultiDiscriminatorObjectMapper mapper = new MultiDiscriminatorObjectMapper();
+    private String herds = "";
+
+    @Setup
+    public void setUp() {
+        mapper = new MultiDiscriminatorObjectMapper();
+        if (compact) {
+            mapper.enableCompactCollections();
+        }
+        herds = Payloads.herds(size);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+        public long retainedBytes;
+    }
+
+    @Benchmark
+    public Map<String, List<Animal>> genericMap(Retained retained) throws IOException {
+        Map<String, List<Animal>> value = mapper.readValue(herds, HERDS);
+        if (retained.retainedBytes == 0) {
+            retained.retainedBytes = GraphLayout.parseInstance(value).totalSize();
+        }
+        return value;
+    }
+}